@@ -0,0 +1,55 @@
+package com.doable.bench;
+
+import com.doable.db.Database;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.sql.SQLException;
+
+/**
+ * Scratch database for the benchmarks, seeded with {@link DataGenerator}.
+ * The generator seed is fixed so runs are comparable.
+ */
+public class BenchmarkData {
+    public static final String PASSWORD = "bench";
+
+    /**
+     * Point Database at a fresh temp file and create the schema. Must run before any DAO is created.
+     */
+    public static File openScratchDatabase() throws IOException {
+        File dir = Files.createTempDirectory("doable-bench").toFile();
+        File dbFile = new File(dir, "doable.db");
+        System.setProperty("doable.db.file", dbFile.getAbsolutePath());
+        Database.getInstance().init();
+        return dbFile;
+    }
+
+    public static void deleteScratchDatabase(File dbFile) {
+        Database.getInstance().close();
+        File dir = dbFile.getParentFile();
+        File[] files = dir.listFiles();
+        if (files != null) {
+            for (File f : files) f.delete();
+        }
+        dir.delete();
+    }
+
+    /**
+     * Seed through {@link DataGenerator}: one manager per 20 users, tasks and assignments spread
+     * evenly over the managers. Returns the generator so benchmarks can pick existing ids.
+     */
+    public static DataGenerator seed(int users, int categories, int tasks, int assignments, int actionLogs) throws SQLException {
+        DataGenerator.Spec spec = new DataGenerator.Spec();
+        spec.managers = Math.max(1, users / 20);
+        spec.employeesPerManager = Math.max(1, (users - spec.managers) / spec.managers);
+        spec.categories = categories;
+        spec.tasksPerManager = Math.max(1, tasks / spec.managers);
+        spec.assignmentsPerTask = tasks == 0 ? 0 : assignments / tasks;
+        spec.completionRatio = 0.5;
+        spec.actionLogs = actionLogs;
+        DataGenerator generator = new DataGenerator(spec);
+        generator.generate();
+        return generator;
+    }
+}
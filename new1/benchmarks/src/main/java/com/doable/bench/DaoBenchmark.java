@@ -0,0 +1,115 @@
+package com.doable.bench;
+
+import com.doable.dao.AssignmentDao;
+import com.doable.dao.ReportDao;
+import com.doable.dao.TaskDao;
+import com.doable.dao.UserDao;
+import com.doable.model.Assignment;
+import com.doable.model.AssignmentProgress;
+import com.doable.model.ManagerReport;
+import com.doable.model.Task;
+import com.doable.model.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DAO read-path benchmarks against a seeded scratch database.
+ * Each benchmark reports throughput and sampled latency (p50/p90/p99/...); the data volume
+ * is controlled with the JMH params, e.g. {@code java -jar target/benchmarks.jar -p tasks=100000}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DaoBenchmark {
+    @Param({"500"})
+    public int users;
+
+    @Param({"20"})
+    public int categories;
+
+    @Param({"10000"})
+    public int tasks;
+
+    @Param({"50000"})
+    public int assignments;
+
+    @Param({"100000"})
+    public int actionLogs;
+
+    private File dbFile;
+    private DataGenerator data;
+    private TaskDao taskDao;
+    private AssignmentDao assignmentDao;
+    private ReportDao reportDao;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        dbFile = BenchmarkData.openScratchDatabase();
+        data = BenchmarkData.seed(users, categories, tasks, assignments, actionLogs);
+        taskDao = new TaskDao();
+        assignmentDao = new AssignmentDao();
+        reportDao = new ReportDao();
+        checkManagerReportPlan(reportDao.explainManagerReportsPlan());
+    }
+
+    // The manager report must stay one keyed summary lookup per manager: no scan of
+    // report_manager_summary (aliased s) and no temp B-tree except the final ORDER BY
+    private static void checkManagerReportPlan(List<String> plan) {
+        for (int i = 0; i < plan.size(); i++) {
+            String step = plan.get(i);
+            boolean summaryScan = step.matches("SCAN (s|report_manager_summary)\\b.*");
+            boolean extraSort = step.contains("TEMP B-TREE")
+                    && !(i == plan.size() - 1 && step.equals("USE TEMP B-TREE FOR ORDER BY"));
+            if (summaryScan || extraSort) {
+                throw new IllegalStateException("Manager report plan regressed at \"" + step + "\": " + plan);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkData.deleteScratchDatabase(dbFile);
+    }
+
+    @Benchmark
+    public List<Task> taskDaoFindAll() throws SQLException {
+        return taskDao.findAll();
+    }
+
+    @Benchmark
+    public List<Task> taskDaoFindByCreatedBy() throws SQLException {
+        return taskDao.findByCreatedBy(data.randomManagerId());
+    }
+
+    @Benchmark
+    public List<Task> taskDaoFindForEmployee() throws SQLException {
+        return taskDao.findForEmployee(data.randomEmployeeId(), false);
+    }
+
+    @Benchmark
+    public List<Assignment> assignmentDaoFindByEmployeeId() throws SQLException {
+        return assignmentDao.findByEmployeeId(data.randomEmployeeId());
+    }
+
+    @Benchmark
+    public List<AssignmentProgress> assignmentDaoFindProgressByManager() throws SQLException {
+        return assignmentDao.findProgressByManager(data.randomManagerId(), null, null, null, null);
+    }
+
+    @Benchmark
+    public List<ManagerReport> reportDaoGetManagerReports() throws SQLException {
+        return reportDao.getManagerReports();
+    }
+
+    @Benchmark
+    public User userDaoAuthenticate() {
+        return UserDao.authenticate(data.managerUsername(0), BenchmarkData.PASSWORD);
+    }
+}
@@ -0,0 +1,258 @@
+package com.doable.bench;
+
+import com.doable.db.Database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+/**
+ * Generates production-shaped data directly into the tables created by Database.init().
+ * Managers own their employees, categories and tasks; each task is assigned to a slice of the
+ * manager's employees with a configurable completion ratio, and action logs are spread over
+ * everyone. Inserts are batched and committed roughly every COMMIT_EVERY rows so the WAL stays
+ * bounded even for millions of rows. New ids and usernames never collide with existing rows.
+ */
+public class DataGenerator {
+    private static final int COMMIT_EVERY = 50000;
+    private static final String[] REPEAT_RULES = {"NONE", "DAILY", "WEEKLY", "CUSTOM_MON,WED", "EVERY_3_DAYS"};
+    private static final int[] REPEAT_WEIGHTS = {50, 20, 15, 10, 5};
+    private static final String[] ACTION_TYPES = {"CREATE_TASK", "ASSIGN_TASK", "UNASSIGN_TASK", "COMPLETE_TASK", "INCOMPLETE_TASK", "CREATE_CATEGORY"};
+
+    /**
+     * What to generate. Totals: managers * employeesPerManager employees,
+     * managers * tasksPerManager tasks and roughly tasks * assignmentsPerTask assignments.
+     */
+    public static class Spec {
+        public int managers = 10;
+        public int employeesPerManager = 200;
+        public int categories = 25;
+        public int tasksPerManager = 500;
+        public int assignmentsPerTask = 40;
+        public double completionRatio = 0.6;
+        public long actionLogs = 1_000_000;
+        public long seed = 42;
+    }
+
+    private final Spec spec;
+    private final Random random;
+    private final Connection conn;
+    private long[] managerIds;
+    private long[][] employeeIdsByManager;
+    private long firstCategoryId;
+    private long firstTaskId;
+    private String namePrefix = "";
+    private int pendingRows;
+
+    public DataGenerator(Spec spec) {
+        this.spec = spec;
+        this.random = new Random(spec.seed);
+        this.conn = Database.getInstance().getConnection();
+    }
+
+    public void generate() throws SQLException {
+        long start = System.currentTimeMillis();
+        Database.getInstance().writeLock().lock();
+        try {
+            conn.setAutoCommit(false);
+            try {
+                generateUsers();
+                generateCategories();
+                generateTasksAndAssignments();
+                generateActionLogs();
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            try (Statement s = conn.createStatement()) {
+                s.execute("ANALYZE");
+            }
+        } finally {
+            Database.getInstance().writeLock().unlock();
+        }
+        System.out.println("Generated data in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    public long randomManagerId() {
+        return managerIds[random.nextInt(managerIds.length)];
+    }
+
+    public long randomEmployeeId() {
+        long[] employees = employeeIdsByManager[random.nextInt(employeeIdsByManager.length)];
+        return employees[random.nextInt(employees.length)];
+    }
+
+    public String managerUsername(int i) {
+        return "manager" + namePrefix + i;
+    }
+
+    private void generateUsers() throws SQLException {
+        String sql = "INSERT INTO users(id, username, password, email, phone_number, role, job_title, created_by, created_at) VALUES(?,?,?,?,?,?,?,?,?)";
+        long id = nextId("users");
+        long now = System.currentTimeMillis();
+        long firstId = id;
+        // Only the default admin exists in a fresh database; otherwise keep usernames unique per run
+        namePrefix = firstId == 2 ? "" : firstId + "_";
+        managerIds = new long[spec.managers];
+        employeeIdsByManager = new long[spec.managers][spec.employeesPerManager];
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (int m = 0; m < spec.managers; m++) {
+                long managerId = id++;
+                managerIds[m] = managerId;
+                bindUser(ps, managerId, managerUsername(m), "MANAGER", null, 1, now);
+                maybeCommit(ps);
+                for (int e = 0; e < spec.employeesPerManager; e++) {
+                    long employeeId = id++;
+                    employeeIdsByManager[m][e] = employeeId;
+                    bindUser(ps, employeeId, "employee" + namePrefix + m + "_" + e, "EMPLOYEE", "Staff", managerId, now);
+                    maybeCommit(ps);
+                }
+            }
+            ps.executeBatch();
+        }
+        System.out.println("  users: " + (id - firstId));
+    }
+
+    private void bindUser(PreparedStatement ps, long id, String username, String role, String jobTitle, long createdBy, long now) throws SQLException {
+        ps.setLong(1, id);
+        ps.setString(2, username);
+        ps.setString(3, BenchmarkData.PASSWORD);
+        ps.setString(4, username + "@example.com");
+        ps.setString(5, "0000000000");
+        ps.setString(6, role);
+        ps.setString(7, jobTitle);
+        ps.setLong(8, createdBy);
+        ps.setLong(9, now);
+        addBatch(ps);
+    }
+
+    private void generateCategories() throws SQLException {
+        firstCategoryId = nextId("categories");
+        try (PreparedStatement ps = conn.prepareStatement("INSERT INTO categories(id, name, created_by) VALUES(?,?,?)")) {
+            for (int i = 0; i < spec.categories; i++) {
+                long id = firstCategoryId + i;
+                ps.setLong(1, id);
+                ps.setString(2, "Category " + id);
+                ps.setLong(3, randomManagerId());
+                addBatch(ps);
+                maybeCommit(ps);
+            }
+            ps.executeBatch();
+        }
+        System.out.println("  categories: " + spec.categories);
+    }
+
+    private void generateTasksAndAssignments() throws SQLException {
+        String taskSql = "INSERT INTO tasks(id, title, description, due_date, completed, repeat_rule, category_id, marked_for_completion, user_id, created_by, assignment_type, created_date) " +
+                         "VALUES(?,?,?,?,0,?,?,0,?,?,'MANAGER',?)";
+        String assignmentSql = "INSERT INTO assignments(task_id, employee_id, assigned_by, assigned_at, marked_for_completion, completed_at) VALUES(?,?,?,?,?,?)";
+        firstTaskId = nextId("tasks");
+        LocalDateTime base = LocalDateTime.now().withSecond(0).withNano(0);
+        long now = System.currentTimeMillis();
+        long taskId = firstTaskId;
+        long assignments = 0;
+        int perTask = Math.min(spec.assignmentsPerTask, spec.employeesPerManager);
+        try (PreparedStatement tps = conn.prepareStatement(taskSql);
+             PreparedStatement aps = conn.prepareStatement(assignmentSql)) {
+            for (int m = 0; m < spec.managers; m++) {
+                long managerId = managerIds[m];
+                long[] employees = employeeIdsByManager[m].clone();
+                for (int t = 0; t < spec.tasksPerManager; t++, taskId++) {
+                    tps.setLong(1, taskId);
+                    tps.setString(2, "Task " + taskId);
+                    tps.setString(3, "Generated task " + taskId);
+                    // Due dates spread over two weeks either side of now
+                    tps.setLong(4, Database.toEpochMillis(base.plusMinutes(random.nextInt(40320) - 20160)));
+                    tps.setString(5, pickRepeatRule());
+                    if (spec.categories > 0) {
+                        tps.setLong(6, firstCategoryId + random.nextInt(spec.categories));
+                    } else {
+                        tps.setNull(6, java.sql.Types.BIGINT);
+                    }
+                    tps.setLong(7, managerId);
+                    tps.setLong(8, managerId);
+                    tps.setLong(9, now - random.nextInt(30 * 24 * 3600) * 1000L);
+                    addBatch(tps);
+
+                    // Partial shuffle picks perTask distinct employees for this task
+                    for (int i = 0; i < perTask; i++) {
+                        int j = i + random.nextInt(employees.length - i);
+                        long tmp = employees[i];
+                        employees[i] = employees[j];
+                        employees[j] = tmp;
+                        boolean done = random.nextDouble() < spec.completionRatio;
+                        aps.setLong(1, taskId);
+                        aps.setLong(2, employees[i]);
+                        aps.setLong(3, managerId);
+                        aps.setLong(4, now);
+                        aps.setInt(5, done ? 1 : 0);
+                        aps.setLong(6, done ? now : 0);
+                        addBatch(aps);
+                        assignments++;
+                    }
+                    // Tasks are flushed before the assignments that reference them
+                    maybeCommit(tps, aps);
+                }
+            }
+            tps.executeBatch();
+            aps.executeBatch();
+        }
+        System.out.println("  tasks: " + (taskId - firstTaskId) + ", assignments: " + assignments);
+    }
+
+    private void generateActionLogs() throws SQLException {
+        String sql = "INSERT INTO action_logs(user_id, action_type, description, timestamp) VALUES(?,?,?,?)";
+        long now = System.currentTimeMillis();
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (long i = 0; i < spec.actionLogs; i++) {
+                // Managers are far more active than any single employee
+                ps.setLong(1, random.nextInt(3) == 0 ? randomManagerId() : randomEmployeeId());
+                String type = ACTION_TYPES[random.nextInt(ACTION_TYPES.length)];
+                ps.setString(2, type);
+                ps.setString(3, type + " on task " + (firstTaskId + random.nextInt(Math.max(1, spec.managers * spec.tasksPerManager))));
+                ps.setLong(4, now - (long) (random.nextDouble() * 90L * 24 * 3600 * 1000));
+                addBatch(ps);
+                maybeCommit(ps);
+            }
+            ps.executeBatch();
+        }
+        System.out.println("  action_logs: " + spec.actionLogs);
+    }
+
+    private String pickRepeatRule() {
+        int r = random.nextInt(100);
+        for (int i = 0; i < REPEAT_RULES.length; i++) {
+            r -= REPEAT_WEIGHTS[i];
+            if (r < 0) return REPEAT_RULES[i];
+        }
+        return "NONE";
+    }
+
+    private void addBatch(PreparedStatement ps) throws SQLException {
+        ps.addBatch();
+        pendingRows++;
+    }
+
+    // Called at row boundaries; executes the given batches in order and commits once enough rows are queued
+    private void maybeCommit(PreparedStatement... statements) throws SQLException {
+        if (pendingRows < COMMIT_EVERY) return;
+        for (PreparedStatement ps : statements) {
+            ps.executeBatch();
+        }
+        conn.commit();
+        pendingRows = 0;
+    }
+
+    private long nextId(String table) throws SQLException {
+        try (Statement s = conn.createStatement(); ResultSet rs = s.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+            return rs.next() ? rs.getLong(1) : 1;
+        }
+    }
+}
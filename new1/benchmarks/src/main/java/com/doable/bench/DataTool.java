@@ -0,0 +1,76 @@
+package com.doable.bench;
+
+import com.doable.dao.ActionLogAppender;
+import com.doable.db.Database;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line entry point for the data generator and the load driver.
+ *
+ * <pre>
+ * java -cp target/benchmarks.jar com.doable.bench.DataTool generate --db load.db --managers 20 --employees-per-manager 300
+ * java -cp target/benchmarks.jar com.doable.bench.DataTool replay --db load.db --readers 8 --writers 2 --seconds 60
+ * java -cp target/benchmarks.jar com.doable.bench.DataTool rebuild-reports --db load.db
+ * </pre>
+ */
+public class DataTool {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0 || !("generate".equals(args[0]) || "replay".equals(args[0]) || "rebuild-reports".equals(args[0]))) {
+            usage();
+            return;
+        }
+        Map<String, String> opts = parseOptions(args);
+        System.setProperty("doable.db.file", opts.getOrDefault("db", "doable-load.db"));
+        Database.getInstance().init();
+        try {
+            if ("generate".equals(args[0])) {
+                DataGenerator.Spec spec = new DataGenerator.Spec();
+                spec.managers = intOpt(opts, "managers", spec.managers);
+                spec.employeesPerManager = intOpt(opts, "employees-per-manager", spec.employeesPerManager);
+                spec.categories = intOpt(opts, "categories", spec.categories);
+                spec.tasksPerManager = intOpt(opts, "tasks-per-manager", spec.tasksPerManager);
+                spec.assignmentsPerTask = intOpt(opts, "assignments-per-task", spec.assignmentsPerTask);
+                spec.completionRatio = Double.parseDouble(opts.getOrDefault("completion-ratio", String.valueOf(spec.completionRatio)));
+                spec.actionLogs = Long.parseLong(opts.getOrDefault("action-logs", String.valueOf(spec.actionLogs)));
+                spec.seed = Long.parseLong(opts.getOrDefault("seed", String.valueOf(spec.seed)));
+                new DataGenerator(spec).generate();
+            } else if ("rebuild-reports".equals(args[0])) {
+                long start = System.currentTimeMillis();
+                Database.getInstance().rebuildReportSummaries();
+                System.out.println("Rebuilt report summaries in " + (System.currentTimeMillis() - start) + " ms");
+            } else {
+                new LoadDriver(intOpt(opts, "readers", 4), intOpt(opts, "writers", 1),
+                        intOpt(opts, "seconds", 30) * 1000L).run();
+            }
+        } finally {
+            ActionLogAppender.getInstance().shutdown();
+            Database.getInstance().close();
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> opts = new HashMap<>();
+        for (int i = 1; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 >= args.length) {
+                throw new IllegalArgumentException("Expected --option value, got: " + args[i]);
+            }
+            opts.put(args[i].substring(2), args[++i]);
+        }
+        return opts;
+    }
+
+    private static int intOpt(Map<String, String> opts, String key, int def) {
+        return Integer.parseInt(opts.getOrDefault(key, String.valueOf(def)));
+    }
+
+    private static void usage() {
+        System.out.println("Usage: DataTool generate|replay|rebuild-reports [--db file] [options]");
+        System.out.println("  generate: --managers --employees-per-manager --categories --tasks-per-manager");
+        System.out.println("            --assignments-per-task --completion-ratio --action-logs --seed");
+        System.out.println("  replay:   --readers --writers --seconds");
+        System.out.println("  rebuild-reports: recompute the report summary tables");
+    }
+}
@@ -0,0 +1,174 @@
+package com.doable.bench;
+
+import com.doable.dao.ActionLogDao;
+import com.doable.dao.AssignmentDao;
+import com.doable.dao.ReportDao;
+import com.doable.dao.TaskDao;
+import com.doable.db.Database;
+import com.doable.model.ActionLog;
+import com.doable.model.Assignment;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Replays a mixed read/write workload against the DAOs from concurrent threads so lock
+ * contention can be profiled. Readers run the dashboard queries, writers toggle assignment
+ * completion and append audit logs. Prints per-operation counts, latency percentiles and
+ * how many calls failed with SQLITE_BUSY / "database is locked".
+ */
+public class LoadDriver {
+    private final int readers;
+    private final int writers;
+    private final long durationMs;
+    private final List<Long> managerIds = new ArrayList<>();
+    private final List<Long> employeeIds = new ArrayList<>();
+    private final List<Long> assignmentIds = new ArrayList<>();
+
+    public LoadDriver(int readers, int writers, long durationMs) {
+        this.readers = readers;
+        this.writers = writers;
+        this.durationMs = durationMs;
+    }
+
+    @FunctionalInterface
+    private interface Op {
+        void run(Random random) throws SQLException;
+    }
+
+    // Per-thread results, merged after the run so the hot path never synchronizes
+    private static final class Stats {
+        final Map<String, List<Long>> latencies = new TreeMap<>();
+        final Map<String, Integer> busy = new TreeMap<>();
+        final Map<String, Integer> errors = new TreeMap<>();
+    }
+
+    public void run() throws Exception {
+        loadIds();
+        if (managerIds.isEmpty() || employeeIds.isEmpty()) {
+            throw new IllegalStateException("No managers/employees found - run the generate command first");
+        }
+
+        TaskDao taskDao = new TaskDao();
+        AssignmentDao assignmentDao = new AssignmentDao();
+        ReportDao reportDao = new ReportDao();
+        ActionLogDao actionLogDao = new ActionLogDao();
+
+        Map<String, Op> readOps = new TreeMap<>();
+        readOps.put("TaskDao.findForEmployee", r -> taskDao.findForEmployee(pick(employeeIds, r), false));
+        readOps.put("TaskDao.findByCreatedBy", r -> taskDao.findByCreatedBy(pick(managerIds, r)));
+        readOps.put("AssignmentDao.findProgressByManager", r -> assignmentDao.findProgressByManager(pick(managerIds, r), null, null, null, null));
+        readOps.put("ReportDao.getTaskStatistics", r -> reportDao.getTaskStatistics(pick(managerIds, r)));
+        readOps.put("ActionLogDao.findByUserId", r -> actionLogDao.findByUserId(pick(employeeIds, r)));
+
+        Map<String, Op> writeOps = new TreeMap<>();
+        writeOps.put("AssignmentDao.save (toggle)", r -> {
+            if (assignmentIds.isEmpty()) return;
+            Assignment a = assignmentDao.findById(pick(assignmentIds, r));
+            if (a == null) return;
+            a.setMarkedForCompletion(!a.isMarkedForCompletion());
+            a.setCompletedAt(a.isMarkedForCompletion() ? System.currentTimeMillis() : 0);
+            assignmentDao.save(a);
+        });
+        writeOps.put("ActionLogDao.save", r -> actionLogDao.save(new ActionLog(pick(employeeIds, r), "COMPLETE_TASK", "Load driver")));
+
+        List<Stats> results = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(readers + writers);
+        long deadline = System.currentTimeMillis() + durationMs;
+        for (int i = 0; i < readers + writers; i++) {
+            Map<String, Op> ops = i < readers ? readOps : writeOps;
+            long seed = i;
+            Thread t = new Thread(() -> {
+                try {
+                    results.add(drive(ops, new Random(seed), deadline));
+                } finally {
+                    done.countDown();
+                }
+            }, (i < readers ? "LoadReader-" : "LoadWriter-") + i);
+            t.start();
+        }
+        done.await();
+        report(results);
+    }
+
+    private Stats drive(Map<String, Op> ops, Random random, long deadline) {
+        Stats stats = new Stats();
+        List<Map.Entry<String, Op>> entries = new ArrayList<>(ops.entrySet());
+        while (System.currentTimeMillis() < deadline) {
+            Map.Entry<String, Op> op = entries.get(random.nextInt(entries.size()));
+            long start = System.nanoTime();
+            try {
+                op.getValue().run(random);
+                stats.latencies.computeIfAbsent(op.getKey(), k -> new ArrayList<>()).add(System.nanoTime() - start);
+            } catch (SQLException e) {
+                String msg = String.valueOf(e.getMessage());
+                if (msg.contains("SQLITE_BUSY") || msg.contains("locked")) {
+                    stats.busy.merge(op.getKey(), 1, Integer::sum);
+                } else {
+                    stats.errors.merge(op.getKey(), 1, Integer::sum);
+                }
+            } catch (RuntimeException e) {
+                stats.errors.merge(op.getKey(), 1, Integer::sum);
+            }
+        }
+        return stats;
+    }
+
+    private void report(List<Stats> results) {
+        Map<String, List<Long>> latencies = new TreeMap<>();
+        Map<String, Integer> busy = new TreeMap<>();
+        Map<String, Integer> errors = new TreeMap<>();
+        for (Stats s : results) {
+            s.latencies.forEach((k, v) -> latencies.computeIfAbsent(k, x -> new ArrayList<>()).addAll(v));
+            s.busy.forEach((k, v) -> busy.merge(k, v, Integer::sum));
+            s.errors.forEach((k, v) -> errors.merge(k, v, Integer::sum));
+        }
+        System.out.printf("%-40s %8s %9s %9s %9s %9s %6s %6s%n", "operation", "ops", "ops/s", "p50 ms", "p99 ms", "max ms", "busy", "error");
+        // An operation whose every call failed has no latencies but still needs its row
+        Set<String> operations = new TreeSet<>(latencies.keySet());
+        operations.addAll(busy.keySet());
+        operations.addAll(errors.keySet());
+        for (String op : operations) {
+            List<Long> l = latencies.getOrDefault(op, new ArrayList<>());
+            Collections.sort(l);
+            System.out.printf("%-40s %8d %9.1f %9.2f %9.2f %9.2f %6d %6d%n", op, l.size(),
+                    l.size() * 1000.0 / durationMs, percentile(l, 0.50), percentile(l, 0.99), percentile(l, 1.0),
+                    busy.getOrDefault(op, 0), errors.getOrDefault(op, 0));
+        }
+    }
+
+    private static double percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty()) return 0;
+        int idx = (int) Math.min(sorted.size() - 1, Math.ceil(p * sorted.size()) - 1);
+        return sorted.get(Math.max(0, idx)) / 1_000_000.0;
+    }
+
+    private static long pick(List<Long> ids, Random random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private void loadIds() throws SQLException {
+        try (Connection c = Database.getInstance().getReadConnection(); Statement s = c.createStatement()) {
+            try (ResultSet rs = s.executeQuery("SELECT id, role FROM users WHERE role IN ('MANAGER', 'EMPLOYEE')")) {
+                while (rs.next()) {
+                    ("MANAGER".equals(rs.getString(2)) ? managerIds : employeeIds).add(rs.getLong(1));
+                }
+            }
+            // A sample is enough to spread the writes
+            try (ResultSet rs = s.executeQuery("SELECT id FROM assignments ORDER BY random() LIMIT 10000")) {
+                while (rs.next()) assignmentIds.add(rs.getLong(1));
+            }
+        }
+    }
+}
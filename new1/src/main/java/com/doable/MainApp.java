@@ -7,7 +7,10 @@ import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.image.Image;
 import javafx.stage.Stage;
+import com.doable.dao.ActionLogAppender;
+import com.doable.dao.AsyncDao;
 import com.doable.db.Database;
+import com.doable.util.ReminderScheduler;
 
 public class MainApp extends Application {
     @Override
@@ -34,6 +37,9 @@ public void start(Stage primaryStage) throws Exception {
     @Override
     public void stop() throws Exception {
         super.stop();
+        ReminderScheduler.getInstance().stop();
+        AsyncDao.getInstance().shutdown();
+        ActionLogAppender.getInstance().shutdown();
         Database.getInstance().close();
     }
 
@@ -21,7 +21,6 @@ import com.doable.dao.TaskDao;
 import com.doable.dao.CategoryDao;
 import javafx.stage.FileChooser;
 
-import java.nio.file.Files;
 import java.io.File;
 import java.time.Instant;
 import java.time.ZoneId;
@@ -48,6 +47,7 @@ public class AdminDashboardController {
     @FXML private TableView<ManagerRow> managersTable;
 
     private User currentUser;
+    private Runnable dataChangeSubscription;
 
     @FXML
     public void initialize() {
@@ -126,11 +126,17 @@ public class AdminDashboardController {
     }
 
     private void loadManagers() {
+        com.doable.dao.AsyncDao.deliver(com.doable.dao.AsyncDao.getInstance().read(UserDao::getAllManagers),
+            this::showManagers,
+            e -> showAlert("Error", "Failed to load managers: " + e.getMessage()));
+    }
+
+    private void showManagers(List<User> managers) {
         ObservableList<ManagerRow> data = FXCollections.observableArrayList();
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")
                 .withZone(ZoneId.systemDefault());
 
-        for (User manager : UserDao.getAllManagers()) {
+        for (User manager : managers) {
             String created = Instant.ofEpochMilli(manager.getCreatedAt())
                     .atZone(ZoneId.systemDefault())
                     .format(formatter);
@@ -183,9 +189,7 @@ public class AdminDashboardController {
 
             managerErrorLabel.setText("");
             managerSuccessLabel.setText("Manager created successfully!");
-
-            // Reload table
-            loadManagers();
+            // The table reloads through the DataChangeBus subscription
         } catch (IllegalArgumentException e) {
             managerErrorLabel.setText(e.getMessage());
             managerSuccessLabel.setText("");
@@ -201,6 +205,7 @@ public class AdminDashboardController {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/login.fxml"));
             Parent root = loader.load();
             Stage stage = (Stage) logoutButton.getScene().getWindow();
+            if (dataChangeSubscription != null) dataChangeSubscription.run();
             stage.setScene(new Scene(root, 800, 600));
             stage.setTitle("Doable - Login");
             stage.show();
@@ -211,6 +216,16 @@ public class AdminDashboardController {
 
     @FXML
     private void onGenerateManagersReport() {
+        com.doable.dao.ReportDao reportDao = new com.doable.dao.ReportDao();
+        com.doable.dao.AsyncDao.deliver(com.doable.dao.AsyncDao.getInstance().read(reportDao::getManagerReports),
+            managerReports -> showManagersReport(reportDao, managerReports),
+            e -> {
+                showAlert("Error", "Failed to generate report: " + e.getMessage());
+                e.printStackTrace();
+            });
+    }
+
+    private void showManagersReport(com.doable.dao.ReportDao reportDao, List<com.doable.model.ManagerReport> managerReports) {
         try {
             Stage reportStage = new Stage();
             reportStage.setTitle("Managers Performance Report");
@@ -223,10 +238,6 @@ public class AdminDashboardController {
             Label titleLabel = new Label("Managers Performance Report");
             titleLabel.setStyle("-fx-font-size: 18; -fx-font-weight: bold; -fx-text-fill: #2563eb;");
 
-            // Get all manager reports
-            com.doable.dao.ReportDao reportDao = new com.doable.dao.ReportDao();
-            List<com.doable.model.ManagerReport> managerReports = reportDao.getManagerReports();
-
             // Create table
             TableView<com.doable.model.ManagerReport> table = new TableView<>();
             table.setPrefHeight(500);
@@ -296,11 +307,11 @@ public class AdminDashboardController {
 
             Button exportCSVButton = new Button("Export to CSV");
             exportCSVButton.setStyle("-fx-padding: 8 15; -fx-font-size: 12; -fx-background-color: #10b981; -fx-text-fill: white;");
-            exportCSVButton.setOnAction(e -> exportManagersReportToCSV(managerReports));
+            exportCSVButton.setOnAction(e -> exportManagersReportToCSV(reportDao));
 
             Button exportPDFButton = new Button("Export to PDF");
             exportPDFButton.setStyle("-fx-padding: 8 15; -fx-font-size: 12; -fx-background-color: #f59e0b; -fx-text-fill: white;");
-            exportPDFButton.setOnAction(e -> exportManagersReportToPDF(managerReports));
+            exportPDFButton.setOnAction(e -> exportManagersReportToPDF(reportDao));
 
             Button closeButton = new Button("Close");
             closeButton.setStyle("-fx-padding: 8 15; -fx-font-size: 12; -fx-background-color: #6b7280; -fx-text-fill: white;");
@@ -420,7 +431,7 @@ public class AdminDashboardController {
         }
     }
 
-    private void exportManagersReportToCSV(List<com.doable.model.ManagerReport> reports) {
+    private void exportManagersReportToCSV(com.doable.dao.ReportDao reportDao) {
         try {
             FileChooser fileChooser = new FileChooser();
             fileChooser.setTitle("Export Report as CSV");
@@ -430,30 +441,38 @@ public class AdminDashboardController {
             File file = fileChooser.showSaveDialog(new Stage());
             if (file == null) return;
 
-            StringBuilder csv = new StringBuilder();
-            csv.append("Manager,Tasks Created,Assigned,Completed,Pending,Completion %,Employees,Performance,Last Activity\n");
-
-            for (com.doable.model.ManagerReport report : reports) {
-                csv.append(report.getManagerName()).append(",");
-                csv.append(report.getTotalTasksCreated()).append(",");
-                csv.append(report.getTotalTasksAssigned()).append(",");
-                csv.append(report.getTotalAssignmentsCompleted()).append(",");
-                csv.append(report.getTotalAssignmentsPending()).append(",");
-                csv.append(String.format("%.1f", report.getOverallCompletionPercentage())).append(",");
-                csv.append(report.getTotalEmployeesManaged()).append(",");
-                csv.append(report.getPerformanceStatus()).append(",");
-                csv.append(report.getFormattedLastActivityDate()).append("\n");
-            }
-
-            Files.writeString(file.toPath(), csv.toString());
-            showAlert("Success", "Report exported to " + file.getName());
+            // Rows are streamed from the report cursor on a background thread
+            com.doable.util.CsvExportTask<com.doable.model.ManagerReport> task = new com.doable.util.CsvExportTask<>(file,
+                "Manager,Tasks Created,Assigned,Completed,Pending,Completion %,Employees,Performance,Last Activity",
+                reportDao::countManagers,
+                reportDao::streamManagerReports,
+                report -> {
+                    StringBuilder csv = new StringBuilder();
+                    csv.append(report.getManagerName()).append(",");
+                    csv.append(report.getTotalTasksCreated()).append(",");
+                    csv.append(report.getTotalTasksAssigned()).append(",");
+                    csv.append(report.getTotalAssignmentsCompleted()).append(",");
+                    csv.append(report.getTotalAssignmentsPending()).append(",");
+                    csv.append(String.format("%.1f", report.getOverallCompletionPercentage())).append(",");
+                    csv.append(report.getTotalEmployeesManaged()).append(",");
+                    csv.append(report.getPerformanceStatus()).append(",");
+                    csv.append(report.getFormattedLastActivityDate());
+                    return csv.toString();
+                });
+
+            com.doable.util.ExportProgressDialog.run(task, "Exporting CSV",
+                rows -> showAlert("Success", "Report exported to " + file.getName()),
+                ex -> {
+                    showAlert("Error", "Failed to export report: " + ex.getMessage());
+                    ex.printStackTrace();
+                });
         } catch (Exception e) {
             showAlert("Error", "Failed to export report: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
-    private void exportManagersReportToPDF(List<com.doable.model.ManagerReport> reports) {
+    private void exportManagersReportToPDF(com.doable.dao.ReportDao reportDao) {
         try {
             FileChooser fileChooser = new FileChooser();
             fileChooser.setTitle("Export Report as PDF");
@@ -463,52 +482,32 @@ public class AdminDashboardController {
             File file = fileChooser.showSaveDialog(new Stage());
             if (file == null) return;
 
-            com.itextpdf.kernel.pdf.PdfWriter writer = new com.itextpdf.kernel.pdf.PdfWriter(file);
-            com.itextpdf.kernel.pdf.PdfDocument pdfDoc = new com.itextpdf.kernel.pdf.PdfDocument(writer);
-            com.itextpdf.layout.Document document = new com.itextpdf.layout.Document(pdfDoc);
-            document.setMargins(20, 20, 20, 20);
-
-            // Title
-            com.itextpdf.layout.element.Paragraph title = new com.itextpdf.layout.element.Paragraph("Managers Performance Report");
-            title.setFontSize(24).setBold().setTextAlignment(com.itextpdf.layout.properties.TextAlignment.CENTER);
-            document.add(title);
-
-            // Generated date info
-            com.itextpdf.layout.element.Paragraph info = new com.itextpdf.layout.element.Paragraph(
-                "Generated: " + new java.text.SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new java.util.Date())
-            );
-            info.setFontSize(11).setTextAlignment(com.itextpdf.layout.properties.TextAlignment.CENTER).setMarginBottom(15);
-            document.add(info);
-
-            // Managers Table
-            com.itextpdf.layout.element.Table table = new com.itextpdf.layout.element.Table(9);
-            table.setWidth(com.itextpdf.layout.properties.UnitValue.createPercentValue(100));
-            
-            table.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph("Manager")).setBold());
-            table.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph("Created")).setBold());
-            table.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph("Assigned")).setBold());
-            table.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph("Completed")).setBold());
-            table.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph("Pending")).setBold());
-            table.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph("Completion %")).setBold());
-            table.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph("Employees")).setBold());
-            table.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph("Performance")).setBold());
-            table.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph("Last Activity")).setBold());
-
-            for (com.doable.model.ManagerReport report : reports) {
-                table.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph(report.getManagerName())));
-                table.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph(String.valueOf(report.getTotalTasksCreated()))));
-                table.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph(String.valueOf(report.getTotalTasksAssigned()))));
-                table.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph(String.valueOf(report.getTotalAssignmentsCompleted()))));
-                table.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph(String.valueOf(report.getTotalAssignmentsPending()))));
-                table.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph(report.getFormattedCompletionPercentage())));
-                table.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph(String.valueOf(report.getTotalEmployeesManaged()))));
-                table.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph(report.getPerformanceStatus())));
-                table.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph(report.getFormattedLastActivityDate())));
-            }
-
-            document.add(table);
-            document.close();
-            showAlert("Success", "Report exported to " + file.getName());
+            // Rendered off the FX thread; manager rows are streamed from the report cursor
+            com.doable.util.PdfReportTask<com.doable.model.ManagerReport> task = new com.doable.util.PdfReportTask<>(file,
+                "Managers Performance Report",
+                "Generated: " + new java.text.SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new java.util.Date()));
+            task.details(null,
+                new String[] {"Manager", "Created", "Assigned", "Completed", "Pending", "Completion %", "Employees", "Performance", "Last Activity"},
+                reportDao::countManagers,
+                reportDao::streamManagerReports,
+                report -> new String[] {
+                    report.getManagerName(),
+                    String.valueOf(report.getTotalTasksCreated()),
+                    String.valueOf(report.getTotalTasksAssigned()),
+                    String.valueOf(report.getTotalAssignmentsCompleted()),
+                    String.valueOf(report.getTotalAssignmentsPending()),
+                    report.getFormattedCompletionPercentage(),
+                    String.valueOf(report.getTotalEmployeesManaged()),
+                    report.getPerformanceStatus(),
+                    report.getFormattedLastActivityDate()
+                });
+
+            com.doable.util.ExportProgressDialog.run(task, "Exporting PDF",
+                rows -> showAlert("Success", "Report exported to " + file.getName()),
+                ex -> {
+                    showAlert("Error", "Failed to export PDF: " + ex.getMessage());
+                    ex.printStackTrace();
+                });
         } catch (Exception e) {
             showAlert("Error", "Failed to export PDF: " + e.getMessage());
             e.printStackTrace();
@@ -596,7 +595,6 @@ public class AdminDashboardController {
             try {
                 UserDao.updateUser(manager);
                 showAlert("Success", "Manager updated successfully");
-                loadManagers();
             } catch (Exception e) {
                 showAlert("Error", "Failed to update manager: " + e.getMessage());
             }
@@ -615,7 +613,6 @@ public class AdminDashboardController {
             try {
                 UserDao.deleteUser(managerRow.id);
                 showAlert("Success", "Manager deleted successfully");
-                loadManagers();
             } catch (Exception e) {
                 showAlert("Error", "Failed to delete manager: " + e.getMessage());
             }
@@ -632,6 +629,12 @@ public class AdminDashboardController {
 
     public void setCurrentUser(User user) {
         this.currentUser = user;
+        if (dataChangeSubscription != null) dataChangeSubscription.run();
+        // The managers table lists every manager, and a user change does not say the role, so any
+        // user write reloads it; task, assignment and category writes do not
+        dataChangeSubscription = com.doable.dao.DataChangeBus.getInstance().subscribe(changes -> {
+            if (changes.stream().anyMatch(c -> c.getEntity() == com.doable.dao.DataChange.Entity.USER)) loadManagers();
+        });
         if (user != null) {
             welcomeLabel.setText("Welcome, " + user.getUsername() + "!");
             loadManagers();
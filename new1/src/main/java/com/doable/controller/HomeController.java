@@ -1,7 +1,13 @@
 package com.doable.controller;
 
-import com.doable.util.NotificationUtil;
+import com.doable.util.ListDiff;
+import com.doable.util.ReminderScheduler;
+import com.doable.util.TaskIndex;
+import com.doable.dao.AsyncDao;
 import com.doable.dao.CategoryDao;
+import com.doable.dao.DataChange;
+import com.doable.dao.DataChangeBus;
+import com.doable.dao.TaskQuery;
 import com.doable.dao.UserDao;
 import com.doable.model.Category;
 import com.doable.model.User;
@@ -20,11 +26,14 @@ import com.doable.model.Task;
 
 import java.io.IOException;
 import java.sql.SQLException;
-import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.DayOfWeek;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 
@@ -44,12 +53,17 @@ public class HomeController {
     private final CategoryDao categoryDao = new CategoryDao();
     private final ObservableList<Task> tasks = FXCollections.observableArrayList();
     private final ObservableList<Task> completedTasks = FXCollections.observableArrayList();
-    private List<Task> allTasks = List.of();
+    private final TaskIndex taskIndex = new TaskIndex();
     private List<Task> allCompletedManagerTasks = List.of();
-    private final Set<Long> notifiedTaskIds = new HashSet<>(); // Track which tasks have been notified
-    private final Set<Long> notifiedAtExactTimeIds = new HashSet<>(); // Track tasks notified at exact due time
+    // Reloads replace any query still in flight
+    private final AsyncDao.Latest<List<Task>> pendingTasksLoad = new AsyncDao.Latest<>();
+    private final AsyncDao.Latest<List<Task>> completedTasksLoad = new AsyncDao.Latest<>();
     
+    // More changed tasks than this in one batch are cheaper to get with one full reload
+    private static final int MAX_PATCHED_TASKS = 20;
+
     private User currentUser;
+    private Runnable dataChangeSubscription;
 
     public void initialize() {
         filterChoice.getItems().addAll("All", "Pending", "Completed");
@@ -174,127 +188,155 @@ public class HomeController {
     
     private void loadCategories() {
         try {
+            Category selected = categoryFilter.getValue();
             categoryFilter.getItems().clear();
             // Add "All Categories" option
             Category allCat = new Category(0, "All Categories");
             categoryFilter.getItems().add(allCat);
             categoryFilter.getItems().addAll(categoryDao.findAll());
-            categoryFilter.setValue(allCat);
+            // Keep the selected category if it still exists
+            Category keep = allCat;
+            for (Category c : categoryFilter.getItems()) {
+                if (selected != null && c.getId() == selected.getId()) keep = c;
+            }
+            categoryFilter.setValue(keep);
         } catch (SQLException e) {
             e.printStackTrace();
         }
     }
 
     private void loadTasks() {
-        try {
-            if (currentUser == null) {
-                allTasks = List.of();
-            } else {
-                // Load tasks assigned to this employee via assignments table
-                com.doable.dao.AssignmentDao assignmentDao = new com.doable.dao.AssignmentDao();
-                List<com.doable.model.Assignment> assignments = assignmentDao.findByEmployeeId(currentUser.getId());
-                
-                List<Task> tasks = new java.util.ArrayList<>();
-                for (com.doable.model.Assignment assignment : assignments) {
-                    if (!assignment.isMarkedForCompletion()) {  // Only load pending assignments
-                        Task task = taskDao.findById(assignment.getTaskId());
-                        if (task != null) {
-                            // Set marked_for_completion from assignment, not from task
-                            task.setMarkedForCompletion(assignment.isMarkedForCompletion());
-                            
-                            // Determine if task was assigned by manager or self-created
-                            // If assignedBy is different from current user, it's a manager-assigned task
-                            if (assignment.getAssignedBy() != currentUser.getId()) {
-                                task.setAssignmentType("MANAGER");
-                            } else {
-                                task.setAssignmentType("PERSONAL");
-                            }
-                            
-                            tasks.add(task);
-                        }
-                    }
-                }
-                allTasks = tasks;
-                System.out.println("DEBUG: Loaded " + allTasks.size() + " pending tasks for employee: " + currentUser.getUsername());
-            }
+        if (currentUser == null) {
+            taskIndex.reset(List.of());
             applyFilters();
-        } catch (SQLException e) {
-            statusLabel.setText("Error loading tasks: " + e.getMessage());
-            e.printStackTrace();
+            return;
         }
+        // Load every pending task assigned to this employee, off the FX thread; filter changes are
+        // then answered from taskIndex without another query
+        User user = currentUser;
+        pendingTasksLoad.submit(AsyncDao.getInstance().read(() -> taskDao.findForEmployee(TaskQuery.forEmployee(user.getId()))),
+            loaded -> {
+                taskIndex.reset(loaded);
+                System.out.println("DEBUG: Loaded " + taskIndex.size() + " pending tasks for employee: " + user.getUsername());
+                applyFilters();
+            },
+            e -> {
+                statusLabel.setText("Error loading tasks: " + e.getMessage());
+                e.printStackTrace();
+            });
     }
     
     private void applyFilters() {
-        String statusFilter = filterChoice.getValue();
-        String taskTypeFilter = this.taskTypeFilter.getValue();
-        Category selectedCategory = categoryFilter.getValue();
-        LocalDateTime now = LocalDateTime.now();
-        
-        List<Task> filtered = allTasks.stream()
-            .filter(t -> {
-                // Apply task type filter
-                if ("Manager Assigned".equals(taskTypeFilter)) {
-                    return "MANAGER".equals(t.getAssignmentType());
-                } else if ("My Tasks".equals(taskTypeFilter)) {
-                    return !"MANAGER".equals(t.getAssignmentType());
-                }
-                return true; // "All Tasks"
-            })
-            .filter(t -> {
-                // Apply status filter
-                if ("Pending".equals(statusFilter)) {
-                    // Pending: not completed AND due date hasn't passed yet
-                    if (t.isCompleted()) {
-                        return false; // Already completed by user or system
-                    }
-                    if (t.getDueDate() != null && t.getDueDate().isBefore(now)) {
-                        return false; // Due date has passed
-                    }
-                    return true; // Not completed and future due date
-                } else if ("Completed".equals(statusFilter)) {
-                    // Completed: either marked as completed by user OR due date has passed
-                    if (t.isCompleted()) {
-                        return true; // User marked as completed
+        List<Task> filtered = taskIndex.select(currentQuery());
+        ListDiff.apply(tasks, filtered, Task::getId, HomeController::sameTask);
+        updateEditDeleteButtonStatus();
+        statusLabel.setText("Showing " + filtered.size() + " of " + taskIndex.size() + " tasks");
+    }
+
+    /**
+     * Patch the lists for writes made anywhere in the app: changed tasks of this employee are
+     * re-read one by one, and only bulk changes or category renames reload everything.
+     */
+    private void onDataChanges(List<DataChange> changes) {
+        if (currentUser == null) return;
+        long employeeId = currentUser.getId();
+        boolean reloadTasks = false;
+        boolean reloadCompleted = false;
+        boolean reloadCategories = false;
+        Set<Long> changedTasks = new LinkedHashSet<>();
+        for (DataChange c : changes) {
+            switch (c.getEntity()) {
+                case TASK:
+                    if (c.isBulk()) {
+                        reloadTasks = true;
+                        reloadCompleted = true;
+                    } else {
+                        if (taskIndex.get(c.getId()) != null) changedTasks.add(c.getId());
+                        if (allCompletedManagerTasks.stream().anyMatch(t -> t.getId() == c.getId())) reloadCompleted = true;
                     }
-                    if (t.getDueDate() != null && t.getDueDate().isBefore(now)) {
-                        return true; // Due date has passed
+                    break;
+                case ASSIGNMENT:
+                    if (!c.concernsEmployee(employeeId)) break;
+                    reloadCompleted = true;
+                    if (c.getTaskId() == 0) reloadTasks = true; else changedTasks.add(c.getTaskId());
+                    break;
+                case CATEGORY:
+                    reloadCategories = true;
+                    // Renamed or deleted categories are shown in the task rows too
+                    if (c.getKind() != DataChange.Kind.CREATED) {
+                        reloadTasks = true;
+                        reloadCompleted = true;
                     }
-                    return false; // Still pending
-                }
-                return true; // "All" - include all tasks
-            })
-            .filter(t -> {
-                // Apply category filter
-                if (selectedCategory == null || selectedCategory.getId() == 0) {
-                    return true; // "All Categories" - include all tasks
-                }
-                return t.getCategoryId() == selectedCategory.getId();
-            })
-            .sorted((t1, t2) -> {
-                // Sort: manager-assigned tasks first, then by incomplete/complete
-                boolean t1IsManager = "MANAGER".equals(t1.getAssignmentType());
-                boolean t2IsManager = "MANAGER".equals(t2.getAssignmentType());
-                
-                if (t1IsManager != t2IsManager) {
-                    return Boolean.compare(t2IsManager, t1IsManager); // Manager tasks first
+                    break;
+                default:
+                    break;
+            }
+        }
+        if (reloadCategories) loadCategories();
+        if (reloadTasks || changedTasks.size() > MAX_PATCHED_TASKS) {
+            loadTasks();
+        } else if (!changedTasks.isEmpty()) {
+            patchTasks(changedTasks);
+        }
+        if (reloadCompleted) loadCompletedManagerTasks();
+    }
+
+    // Re-read just these tasks for the employee and put or drop each one in taskIndex
+    private void patchTasks(Set<Long> taskIds) {
+        long employeeId = currentUser.getId();
+        AsyncDao.deliver(AsyncDao.getInstance().read(() -> {
+                Map<Long, Task> found = new HashMap<>();
+                for (long taskId : taskIds) {
+                    List<Task> rows = taskDao.findForEmployee(TaskQuery.forEmployee(employeeId).withTaskId(taskId));
+                    if (!rows.isEmpty()) found.put(taskId, rows.get(0));
                 }
-                
-                // Then sort: incomplete (markedForCompletion=false) first, then completed (markedForCompletion=true)
-                if (t1.isMarkedForCompletion() == t2.isMarkedForCompletion()) {
-                    // If same marked status, maintain original order by due date
-                    if (t1.getDueDate() != null && t2.getDueDate() != null) {
-                        return t1.getDueDate().compareTo(t2.getDueDate());
+                return found;
+            }),
+            found -> {
+                for (long taskId : taskIds) {
+                    Task t = found.get(taskId);
+                    if (t != null) {
+                        taskIndex.put(t);
+                    } else {
+                        taskIndex.remove(taskId);
                     }
-                    return 0;
                 }
-                // false (unmarked/incomplete) comes before true (marked/complete)
-                return Boolean.compare(t1.isMarkedForCompletion(), t2.isMarkedForCompletion());
-            })
-            .toList();
-        
-        tasks.setAll(filtered);
-        updateEditDeleteButtonStatus();
-        statusLabel.setText("Showing " + filtered.size() + " of " + allTasks.size() + " tasks");
+                applyFilters();
+            },
+            e -> {
+                statusLabel.setText("Error refreshing tasks: " + e.getMessage());
+                e.printStackTrace();
+            });
+    }
+
+    // Whether two loads of a task render the same cell in either list
+    private static boolean sameTask(Task a, Task b) {
+        return a == b || (Objects.equals(a.getTitle(), b.getTitle())
+                && Objects.equals(a.getCategoryName(), b.getCategoryName())
+                && Objects.equals(a.getDueDate(), b.getDueDate())
+                && Objects.equals(a.getAssignmentType(), b.getAssignmentType())
+                && a.isMarkedForCompletion() == b.isMarkedForCompletion());
+    }
+
+    // The filter combo boxes as a query; "now" is taken once for the overdue test of every row
+    private TaskQuery currentQuery() {
+        TaskQuery.Type type = TaskQuery.Type.ALL;
+        if ("Manager Assigned".equals(taskTypeFilter.getValue())) {
+            type = TaskQuery.Type.MANAGER;
+        } else if ("My Tasks".equals(taskTypeFilter.getValue())) {
+            type = TaskQuery.Type.PERSONAL;
+        }
+        TaskQuery.Status status = TaskQuery.Status.ALL;
+        if ("Pending".equals(filterChoice.getValue())) {
+            status = TaskQuery.Status.PENDING;
+        } else if ("Completed".equals(filterChoice.getValue())) {
+            status = TaskQuery.Status.COMPLETED;
+        }
+        Category selectedCategory = categoryFilter.getValue();
+        return TaskQuery.forEmployee(currentUser == null ? 0 : currentUser.getId())
+            .withType(type)
+            .withStatus(status)
+            .withCategoryId(selectedCategory == null ? 0 : selectedCategory.getId());
     }
 
     @FXML
@@ -311,9 +353,7 @@ public class HomeController {
             ctrl.setStage(s);
             s.showAndWait();
 
-            // Refresh tasks and categories when settings window closes
-            loadTasks();
-            loadCategories();
+            // Category changes made in settings reach the lists through the DataChangeBus
         } catch (IOException e) {
             e.printStackTrace();
             System.err.println("IOException loading settings: " + e.getMessage());
@@ -383,7 +423,8 @@ public class HomeController {
         if (r.isPresent() && r.get() == ButtonType.YES) {
             try {
                 taskDao.delete(sel.getId());
-                tasks.remove(sel);
+                taskIndex.remove(sel.getId());
+                applyFilters();
             } catch (SQLException e) {
                 e.printStackTrace();
             }
@@ -406,6 +447,7 @@ public class HomeController {
                 FXMLLoader loader = new FXMLLoader(HomeController.class.getResource("/fxml/login.fxml"));
                 Parent root = loader.load();
                 Stage stage = (Stage) editButton.getScene().getWindow();
+                if (dataChangeSubscription != null) dataChangeSubscription.run();
                 stage.setScene(new Scene(root));
                 stage.show();
             } catch (IOException e) {
@@ -451,23 +493,31 @@ public class HomeController {
             s.setScene(new Scene(root));
             s.showAndWait();
 
-            if (ctrl.isSaved()) loadTasks();
+            if (ctrl.isSaved()) {
+                // The editor changed the listed instance itself, so the reload's diff sees no change
+                // for it; re-set it to redraw its cell
+                int row = task == null ? -1 : tasks.indexOf(task);
+                if (row >= 0) tasks.set(row, task);
+                // The saved task itself comes back through onDataChanges
+            }
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
     private void handleTaskCheckboxToggle(Task task) {
-        try {
-            boolean isCurrentlyMarked = task.isMarkedForCompletion();
-            
+        boolean isCurrentlyMarked = task.isMarkedForCompletion();
+        long employeeId = currentUser.getId();
+        com.doable.dao.AssignmentDao assignmentDao = new com.doable.dao.AssignmentDao();
+
+        // Read-modify-write of the assignment runs on the serialized writer lane
+        AsyncDao.deliver(AsyncDao.getInstance().write(() -> {
             // Find the assignment for this task and employee
-            com.doable.dao.AssignmentDao assignmentDao = new com.doable.dao.AssignmentDao();
-            com.doable.model.Assignment assignment = assignmentDao.findByTaskAndEmployee(task.getId(), currentUser.getId());
+            com.doable.model.Assignment assignment = assignmentDao.findByTaskAndEmployee(task.getId(), employeeId);
             
             if (assignment == null) {
-                System.out.println("DEBUG: No assignment found for task " + task.getId() + " and employee " + currentUser.getId());
-                return;
+                System.out.println("DEBUG: No assignment found for task " + task.getId() + " and employee " + employeeId);
+                return false;
             }
             
             if (!isCurrentlyMarked) {
@@ -477,9 +527,8 @@ public class HomeController {
                 System.out.println("DEBUG: Marking assignment " + assignment.getId() + " as complete");
                 
                 // Log action
-                com.doable.dao.ActionLogDao logDao = new com.doable.dao.ActionLogDao();
-                logDao.save(new com.doable.model.ActionLog(
-                    currentUser.getId(),
+                com.doable.dao.ActionLogAppender.getInstance().append(new com.doable.model.ActionLog(
+                    employeeId,
                     "COMPLETE_TASK",
                     "Completed task \"" + task.getTitle() + "\" (ID:" + task.getId() + ")"
                 ));
@@ -490,9 +539,8 @@ public class HomeController {
                 System.out.println("DEBUG: Marking assignment " + assignment.getId() + " as pending");
                 
                 // Log action
-                com.doable.dao.ActionLogDao logDao = new com.doable.dao.ActionLogDao();
-                logDao.save(new com.doable.model.ActionLog(
-                    currentUser.getId(),
+                com.doable.dao.ActionLogAppender.getInstance().append(new com.doable.model.ActionLog(
+                    employeeId,
                     "INCOMPLETE_TASK",
                     "Marked task \"" + task.getTitle() + "\" (ID:" + task.getId() + ") as incomplete"
                 ));
@@ -500,18 +548,26 @@ public class HomeController {
             
             // Save the assignment (not the task)
             assignmentDao.save(assignment);
-            
-            // Refresh the display
-            loadTasks();
-            loadCompletedManagerTasks();  // Also update completed tasks view
-        } catch (SQLException e) {
+            return true;
+        }), saved -> {
+            if (!saved) return;
+            // Marked tasks leave the pending list; patch the index instead of reloading it
+            task.setMarkedForCompletion(!isCurrentlyMarked);
+            if (task.isMarkedForCompletion()) {
+                taskIndex.remove(task.getId());
+            } else {
+                taskIndex.put(task);
+            }
+            applyFilters();
+            // The completed tasks view is reloaded by onDataChanges
+        }, e -> {
             e.printStackTrace();
             Alert alert = new Alert(Alert.AlertType.ERROR);
             alert.setTitle("Error");
             alert.setHeaderText("Failed to update task assignment");
             alert.setContentText(e.getMessage());
             alert.showAndWait();
-        }
+        });
     }
 
     private void renewTask(Task task) {
@@ -608,83 +664,23 @@ public class HomeController {
         task.setDueDate(newDueDate);
     }
 
-    // periodic check for due tasks and show system tray notification if supported
+    // deadline-driven reminders; the scheduler is shared by every open window
     private void startReminderChecker() {
-        Thread checkerThread = new Thread(() -> {
-            while (true) {
-                try {
-                    List<Task> list = taskDao.findAll();
-                    LocalDateTime now = LocalDateTime.now();
-                    
-                    for (Task t : list) {
-                        if (!t.isCompleted() && !t.isMarkedForCompletion() && t.getDueDate() != null) {
-                            long diffMs = Duration.between(now, t.getDueDate()).toMillis();
-                            long taskId = t.getId();
-                            
-                            // Auto-complete task if reminder time has passed
-                            if (diffMs < 0) {
-                                t.setCompleted(true);
-                                try {
-                                    taskDao.save(t);
-                                    System.out.println("Auto-completed task: " + t.getTitle());
-                                } catch (SQLException e) {
-                                    System.err.println("Error auto-completing task: " + e.getMessage());
-                                }
-                            }
-                            
-                            // Notification at EXACT TIME (-2000 to 2000 ms, only once)
-                            if (diffMs >= -2000 && diffMs <= 2000 && !notifiedAtExactTimeIds.contains(taskId)) {
-                                notifiedAtExactTimeIds.add(taskId);
-                                System.out.println("Triggering reminder for: " + t.getTitle());
-                                NotificationUtil.displayNotification("Task Reminder", 
-                                    "Task '" + t.getTitle() + "' is due now!");
-                            }
-                            // Clean up old notifications (task is more than 5 minutes past due)
-                            else if (diffMs < -300000) {
-                                notifiedTaskIds.remove(taskId);
-                                notifiedAtExactTimeIds.remove(taskId);
-                            }
-                        }
-                    }
-                    
-                    Thread.sleep(500); // Check every 500ms
-                } catch (SQLException | InterruptedException ex) {
-                    System.err.println("Reminder checker error: " + ex.getMessage());
-                    try {
-                        Thread.sleep(1000); // Wait before retrying
-                    } catch (InterruptedException e) {
-                        e.printStackTrace();
-                    }
-                }
-            }
-        }, "ReminderCheckerThread");
-        
-        checkerThread.setDaemon(true);
-        checkerThread.start();
+        ReminderScheduler.getInstance().start();
     }
 
     private void loadCompletedManagerTasks() {
-        try {
-            if (currentUser == null) {
-                allCompletedManagerTasks = List.of();
-            } else {
-                // Load completed assignments for this employee
-                com.doable.dao.AssignmentDao assignmentDao = new com.doable.dao.AssignmentDao();
-                List<com.doable.model.Assignment> assignments = assignmentDao.findByEmployeeId(currentUser.getId());
-                
-                List<Task> completedTasks = new java.util.ArrayList<>();
-                for (com.doable.model.Assignment assignment : assignments) {
-                    if (assignment.isMarkedForCompletion()) {  // Only completed assignments
-                        Task task = taskDao.findById(assignment.getTaskId());
-                        if (task != null) {
-                            // Set marked_for_completion from assignment
-                            task.setMarkedForCompletion(true);
-                            completedTasks.add(task);
-                        }
-                    }
-                }
-                allCompletedManagerTasks = completedTasks;
-                System.out.println("DEBUG: Loaded " + allCompletedManagerTasks.size() + " completed tasks for employee: " + currentUser.getUsername());
+        if (currentUser == null) {
+            allCompletedManagerTasks = List.of();
+            applyCompletedFilters();
+            return;
+        }
+        // Load completed assignments for this employee, off the FX thread
+        User user = currentUser;
+        completedTasksLoad.submit(AsyncDao.getInstance().read(() -> taskDao.findForEmployee(user.getId(), true)),
+            loaded -> {
+                allCompletedManagerTasks = loaded;
+                System.out.println("DEBUG: Loaded " + allCompletedManagerTasks.size() + " completed tasks for employee: " + user.getUsername());
                 
                 // Load categories into filter
                 Set<String> categories = new HashSet<>();
@@ -696,12 +692,12 @@ public class HomeController {
                 }
                 completedCategoryFilter.setItems(FXCollections.observableArrayList(categories));
                 completedCategoryFilter.setValue("All Categories");
-            }
-            applyCompletedFilters();
-        } catch (SQLException e) {
-            statusLabel.setText("Error loading completed tasks: " + e.getMessage());
-            e.printStackTrace();
-        }
+                applyCompletedFilters();
+            },
+            e -> {
+                statusLabel.setText("Error loading completed tasks: " + e.getMessage());
+                e.printStackTrace();
+            });
     }
     
     private void applyCompletedFilters() {
@@ -727,7 +723,7 @@ public class HomeController {
                 })
                 .toList();
             
-            completedTasks.setAll(filtered);
+            ListDiff.apply(completedTasks, filtered, Task::getId, HomeController::sameTask);
         } catch (Exception e) {
             statusLabel.setText("Error filtering completed tasks: " + e.getMessage());
         }
@@ -742,6 +738,8 @@ public class HomeController {
 
     public void setCurrentUser(User user) {
         this.currentUser = user;
+        if (dataChangeSubscription != null) dataChangeSubscription.run();
+        dataChangeSubscription = DataChangeBus.getInstance().subscribe(this::onDataChanges);
         if (user != null) {
             System.out.println("HomeController: Current user set to " + user.getUsername());
             loadTasks();
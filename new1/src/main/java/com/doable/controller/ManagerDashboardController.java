@@ -21,7 +21,6 @@ import com.doable.dao.TaskDao;
 import com.doable.dao.CategoryDao;
 import javafx.stage.FileChooser;
 
-import java.nio.file.Files;
 import java.io.File;
 import java.time.Instant;
 import java.time.ZoneId;
@@ -29,11 +28,12 @@ import java.time.format.DateTimeFormatter;
 import java.util.Optional;
 import java.util.List;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.Objects;
 
 public class ManagerDashboardController {
     @FXML private Label welcomeLabel;
@@ -111,6 +111,12 @@ public class ManagerDashboardController {
     private List<Category> allCategories;
     private Map<String, Long> employeeFilterMap = new HashMap<>();  // Maps display names to employee IDs
     private Map<String, Long> taskFilterMap = new HashMap<>();  // Maps display names to task IDs
+    private final CategoryDao categoryDao = new CategoryDao();
+    private static final DateTimeFormatter PROGRESS_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    // Reloads replace any query still in flight
+    private com.doable.util.TablePager<Task, TaskRow> createdTasksPager;
+    private com.doable.util.TablePager<com.doable.model.AssignmentProgress, ProgressRow> progressPager;
+    private Runnable dataChangeSubscription;
 
     @FXML
     public void initialize() {
@@ -323,6 +329,7 @@ public class ManagerDashboardController {
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/login.fxml"));
             Parent root = loader.load();
             Stage stage = (Stage) logoutButton.getScene().getWindow();
+            if (dataChangeSubscription != null) dataChangeSubscription.run();
             stage.setScene(new Scene(root, 800, 600));
             stage.setTitle("Doable - Login");
             stage.show();
@@ -333,6 +340,23 @@ public class ManagerDashboardController {
 
     @FXML
     private void onGenerateReport() {
+        // The three report queries run in parallel off the FX thread; the window opens when all are in
+        com.doable.dao.ReportDao reportDao = new com.doable.dao.ReportDao();
+        com.doable.dao.AsyncDao async = com.doable.dao.AsyncDao.getInstance();
+        long managerId = currentUser.getId();
+        java.util.concurrent.CompletableFuture<Map<String, Object>> stats = async.read(() -> reportDao.getTaskStatistics(managerId));
+        java.util.concurrent.CompletableFuture<Map<String, Integer>> breakdown = async.read(() -> reportDao.getCategoryBreakdown(managerId));
+        java.util.concurrent.CompletableFuture<List<com.doable.model.TaskReport>> taskReports = async.read(() -> reportDao.getTaskReportsByManager(managerId));
+        com.doable.dao.AsyncDao.deliver(java.util.concurrent.CompletableFuture.allOf(stats, breakdown, taskReports),
+            done -> showReport(reportDao, stats.join(), breakdown.join(), taskReports.join()),
+            e -> {
+                showAlert("Error", "Failed to generate report: " + e.getMessage());
+                e.printStackTrace();
+            });
+    }
+
+    private void showReport(com.doable.dao.ReportDao reportDao, Map<String, Object> stats, Map<String, Integer> categoryBreakdown,
+                            List<com.doable.model.TaskReport> taskReports) {
         try {
             // Create report window
             Stage reportStage = new Stage();
@@ -348,11 +372,6 @@ public class ManagerDashboardController {
             Label titleLabel = new Label("Task Report for Manager: " + currentUser.getUsername());
             titleLabel.setStyle("-fx-font-size: 18; -fx-font-weight: bold; -fx-text-fill: #2563eb;");
 
-            // Get statistics
-            com.doable.dao.ReportDao reportDao = new com.doable.dao.ReportDao();
-            Map<String, Object> stats = reportDao.getTaskStatistics(currentUser.getId());
-            Map<String, Integer> categoryBreakdown = reportDao.getCategoryBreakdown(currentUser.getId());
-
             // Statistics section
             VBox statsBox = createStatisticsBox(stats);
 
@@ -360,7 +379,7 @@ public class ManagerDashboardController {
             VBox categoryBox = createCategoryBreakdownBox(categoryBreakdown);
 
             // Task details table
-            VBox tableBox = createTaskDetailsBox(reportDao.getTaskReportsByManager(currentUser.getId()));
+            VBox tableBox = createTaskDetailsBox(taskReports);
 
             // Button panel
             HBox buttonPanel = new HBox(10);
@@ -368,23 +387,11 @@ public class ManagerDashboardController {
 
             Button exportCSVButton = new Button("Export to CSV");
             exportCSVButton.setStyle("-fx-padding: 8 15; -fx-font-size: 12; -fx-background-color: #10b981; -fx-text-fill: white;");
-            exportCSVButton.setOnAction(e -> {
-                try {
-                    exportReportToCSV(reportDao.getTaskReportsByManager(currentUser.getId()));
-                } catch (Exception ex) {
-                    showAlert("Error", "Failed to export: " + ex.getMessage());
-                }
-            });
+            exportCSVButton.setOnAction(e -> exportReportToCSV(reportDao));
 
             Button exportPDFButton = new Button("Export to PDF");
             exportPDFButton.setStyle("-fx-padding: 8 15; -fx-font-size: 12; -fx-background-color: #f59e0b; -fx-text-fill: white;");
-            exportPDFButton.setOnAction(e -> {
-                try {
-                    exportReportToPDF(reportDao.getTaskReportsByManager(currentUser.getId()), stats, categoryBreakdown);
-                } catch (Exception ex) {
-                    showAlert("Error", "Failed to export PDF: " + ex.getMessage());
-                }
-            });
+            exportPDFButton.setOnAction(e -> exportReportToPDF(reportDao, stats, categoryBreakdown));
 
             Button printButton = new Button("Print Report");
             printButton.setStyle("-fx-padding: 8 15; -fx-font-size: 12; -fx-background-color: #3b82f6; -fx-text-fill: white;");
@@ -520,7 +527,7 @@ public class ManagerDashboardController {
         return box;
     }
 
-    private void exportReportToCSV(List<com.doable.model.TaskReport> reports) {
+    private void exportReportToCSV(com.doable.dao.ReportDao reportDao) {
         try {
             FileChooser fileChooser = new FileChooser();
             fileChooser.setTitle("Export Report as CSV");
@@ -530,29 +537,38 @@ public class ManagerDashboardController {
             File file = fileChooser.showSaveDialog(new Stage());
             if (file == null) return;
 
-            StringBuilder csv = new StringBuilder();
-            csv.append("Task ID,Title,Category,Status,Completion %,Completed/Total Assignments,Created Date,Due Date\n");
-
-            for (com.doable.model.TaskReport report : reports) {
-                csv.append(report.getTaskId()).append(",");
-                csv.append("\"").append(escapeCSV(report.getTaskTitle())).append("\",");
-                csv.append("\"").append(escapeCSV(report.getCategory())).append("\",");
-                csv.append(report.getStatus()).append(",");
-                csv.append(String.format("%.1f", report.getCompletionPercentage())).append(",");
-                csv.append(report.getCompletedAssignments()).append("/").append(report.getTotalAssignments()).append(",");
-                csv.append(report.getFormattedCreatedDate()).append(",");
-                csv.append(report.getFormattedDueDate()).append("\n");
-            }
+            // Rows are streamed from the report cursor on a background thread
+            long managerId = currentUser.getId();
+            com.doable.util.CsvExportTask<com.doable.model.TaskReport> task = new com.doable.util.CsvExportTask<>(file,
+                "Task ID,Title,Category,Status,Completion %,Completed/Total Assignments,Created Date,Due Date",
+                () -> reportDao.countTaskReportsByManager(managerId),
+                handler -> reportDao.streamTaskReportsByManager(managerId, handler),
+                report -> {
+                    StringBuilder csv = new StringBuilder();
+                    csv.append(report.getTaskId()).append(",");
+                    csv.append("\"").append(escapeCSV(report.getTaskTitle())).append("\",");
+                    csv.append("\"").append(escapeCSV(report.getCategory())).append("\",");
+                    csv.append(report.getStatus()).append(",");
+                    csv.append(String.format("%.1f", report.getCompletionPercentage())).append(",");
+                    csv.append(report.getCompletedAssignments()).append("/").append(report.getTotalAssignments()).append(",");
+                    csv.append(report.getFormattedCreatedDate()).append(",");
+                    csv.append(report.getFormattedDueDate());
+                    return csv.toString();
+                });
 
-            Files.writeString(file.toPath(), csv.toString());
-            showAlert("Success", "Report exported to " + file.getName());
+            com.doable.util.ExportProgressDialog.run(task, "Exporting CSV",
+                rows -> showAlert("Success", "Report exported to " + file.getName()),
+                ex -> {
+                    showAlert("Error", "Failed to export report: " + ex.getMessage());
+                    ex.printStackTrace();
+                });
         } catch (Exception e) {
             showAlert("Error", "Failed to export report: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
-    private void exportReportToPDF(List<com.doable.model.TaskReport> reports, Map<String, Object> stats, Map<String, Integer> breakdown) {
+    private void exportReportToPDF(com.doable.dao.ReportDao reportDao, Map<String, Object> stats, Map<String, Integer> breakdown) {
         try {
             FileChooser fileChooser = new FileChooser();
             fileChooser.setTitle("Export Report as PDF");
@@ -562,101 +578,46 @@ public class ManagerDashboardController {
             File file = fileChooser.showSaveDialog(new Stage());
             if (file == null) return;
 
-            com.itextpdf.kernel.pdf.PdfWriter writer = new com.itextpdf.kernel.pdf.PdfWriter(file);
-            com.itextpdf.kernel.pdf.PdfDocument pdfDoc = new com.itextpdf.kernel.pdf.PdfDocument(writer);
-            com.itextpdf.layout.Document document = new com.itextpdf.layout.Document(pdfDoc);
-            document.setMargins(20, 20, 20, 20);
-
-            // Title
-            com.itextpdf.layout.element.Paragraph title = new com.itextpdf.layout.element.Paragraph("Task Report");
-            title.setFontSize(24).setBold().setTextAlignment(com.itextpdf.layout.properties.TextAlignment.CENTER);
-            document.add(title);
-
-            // Manager and date info
-            com.itextpdf.layout.element.Paragraph info = new com.itextpdf.layout.element.Paragraph(
-                "Manager: " + currentUser.getUsername() + "\nGenerated: " + new java.text.SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new java.util.Date())
-            );
-            info.setFontSize(11).setTextAlignment(com.itextpdf.layout.properties.TextAlignment.CENTER).setMarginBottom(15);
-            document.add(info);
-
-            // Summary Statistics Section
-            com.itextpdf.layout.element.Paragraph statsTitle = new com.itextpdf.layout.element.Paragraph("Summary Statistics");
-            statsTitle.setFontSize(14).setBold().setMarginTop(10).setMarginBottom(10);
-            document.add(statsTitle);
-
             int totalTasks = (int) stats.getOrDefault("totalTasks", 0);
             int totalAssignments = (int) stats.getOrDefault("totalAssignments", 0);
             int completed = (int) stats.getOrDefault("completed", 0);
             int pending = (int) stats.getOrDefault("pending", 0);
             double completionRate = totalAssignments > 0 ? (completed * 100.0 / totalAssignments) : 0;
 
-            com.itextpdf.layout.element.Table statsTable = new com.itextpdf.layout.element.Table(5);
-            statsTable.setWidth(com.itextpdf.layout.properties.UnitValue.createPercentValue(100));
-            statsTable.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph("Total Tasks")).setBold());
-            statsTable.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph("Total Assignments")).setBold());
-            statsTable.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph("Completed")).setBold());
-            statsTable.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph("Pending")).setBold());
-            statsTable.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph("Completion Rate")).setBold());
-
-            statsTable.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph(String.valueOf(totalTasks))));
-            statsTable.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph(String.valueOf(totalAssignments))));
-            statsTable.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph(String.valueOf(completed))));
-            statsTable.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph(String.valueOf(pending))));
-            statsTable.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph(String.format("%.1f%%", completionRate))));
-
-            document.add(statsTable);
-            document.add(new com.itextpdf.layout.element.Paragraph("").setMarginBottom(10));
-
-            // Category Breakdown Section
+            List<String[]> categoryRows = new ArrayList<>();
+            breakdown.forEach((category, count) -> categoryRows.add(new String[] {category, String.valueOf(count)}));
+
+            // Rendered off the FX thread; task rows are streamed from the report cursor
+            long managerId = currentUser.getId();
+            com.doable.util.PdfReportTask<com.doable.model.TaskReport> task = new com.doable.util.PdfReportTask<>(file, "Task Report",
+                "Manager: " + currentUser.getUsername() + "\nGenerated: " + new java.text.SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new java.util.Date()));
+            task.addSummary("Summary Statistics",
+                new String[] {"Total Tasks", "Total Assignments", "Completed", "Pending", "Completion Rate"},
+                List.<String[]>of(new String[] {String.valueOf(totalTasks), String.valueOf(totalAssignments),
+                    String.valueOf(completed), String.valueOf(pending), String.format("%.1f%%", completionRate)}));
             if (!breakdown.isEmpty()) {
-                com.itextpdf.layout.element.Paragraph categoryTitle = new com.itextpdf.layout.element.Paragraph("Tasks by Category");
-                categoryTitle.setFontSize(14).setBold().setMarginTop(10).setMarginBottom(10);
-                document.add(categoryTitle);
-
-                com.itextpdf.layout.element.Table categoryTable = new com.itextpdf.layout.element.Table(2);
-                categoryTable.setWidth(com.itextpdf.layout.properties.UnitValue.createPercentValue(100));
-                categoryTable.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph("Category")).setBold());
-                categoryTable.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph("Count")).setBold());
-
-                breakdown.forEach((category, count) -> {
-                    categoryTable.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph(category)));
-                    categoryTable.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph(String.valueOf(count))));
-                });
-
-                document.add(categoryTable);
-                document.add(new com.itextpdf.layout.element.Paragraph("").setMarginBottom(10));
+                task.addSummary("Tasks by Category", new String[] {"Category", "Count"}, categoryRows);
             }
+            task.details("Task Details",
+                new String[] {"Task", "Category", "Status", "Completion %", "Assignments", "Created", "Due"},
+                () -> reportDao.countTaskReportsByManager(managerId),
+                handler -> reportDao.streamTaskReportsByManager(managerId, handler),
+                report -> new String[] {
+                    report.getTaskTitle(),
+                    report.getCategory(),
+                    report.getStatus(),
+                    report.getCompletionPercentageFormatted(),
+                    report.getCompletedAssignments() + "/" + report.getTotalAssignments(),
+                    report.getFormattedCreatedDate(),
+                    report.getFormattedDueDate()
+                });
 
-            // Task Details Section
-            com.itextpdf.layout.element.Paragraph taskTitle = new com.itextpdf.layout.element.Paragraph("Task Details");
-            taskTitle.setFontSize(14).setBold().setMarginTop(10).setMarginBottom(10);
-            document.add(taskTitle);
-
-            com.itextpdf.layout.element.Table taskTable = new com.itextpdf.layout.element.Table(7);
-            taskTable.setWidth(com.itextpdf.layout.properties.UnitValue.createPercentValue(100));
-            taskTable.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph("Task")).setBold());
-            taskTable.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph("Category")).setBold());
-            taskTable.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph("Status")).setBold());
-            taskTable.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph("Completion %")).setBold());
-            taskTable.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph("Assignments")).setBold());
-            taskTable.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph("Created")).setBold());
-            taskTable.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph("Due")).setBold());
-
-            for (com.doable.model.TaskReport report : reports) {
-                taskTable.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph(report.getTaskTitle())));
-                taskTable.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph(report.getCategory())));
-                taskTable.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph(report.getStatus())));
-                taskTable.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph(report.getCompletionPercentageFormatted())));
-                taskTable.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph(
-                    report.getCompletedAssignments() + "/" + report.getTotalAssignments())));
-                taskTable.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph(report.getFormattedCreatedDate())));
-                taskTable.addCell(new com.itextpdf.layout.element.Cell().add(new com.itextpdf.layout.element.Paragraph(report.getFormattedDueDate())));
-            }
-
-            document.add(taskTable);
-
-            document.close();
-            showAlert("Success", "Report exported to " + file.getName());
+            com.doable.util.ExportProgressDialog.run(task, "Exporting PDF",
+                rows -> showAlert("Success", "Report exported to " + file.getName()),
+                ex -> {
+                    showAlert("Error", "Failed to export PDF: " + ex.getMessage());
+                    ex.printStackTrace();
+                });
         } catch (Exception e) {
             showAlert("Error", "Failed to export PDF: " + e.getMessage());
             e.printStackTrace();
@@ -674,6 +635,8 @@ public class ManagerDashboardController {
 
     public void setCurrentUser(User user) {
         this.currentUser = user;
+        if (dataChangeSubscription != null) dataChangeSubscription.run();
+        dataChangeSubscription = com.doable.dao.DataChangeBus.getInstance().subscribe(this::onDataChanges);
         if (user != null) {
             welcomeLabel.setText("Welcome, " + user.getUsername() + " (" + user.getDepartment() + ")");
             loadEmployees();
@@ -687,9 +650,50 @@ public class ManagerDashboardController {
         }
     }
 
+    /**
+     * Refresh the tables a batch of writes touches: this manager's tasks, the progress of their
+     * assignments (e.g. an employee completing one in another window), employees and categories.
+     * Filter selections are left alone.
+     */
+    private void onDataChanges(List<com.doable.dao.DataChange> changes) {
+        if (currentUser == null) return;
+        long managerId = currentUser.getId();
+        boolean tasksChanged = false;
+        boolean progressChanged = false;
+        boolean employeesChanged = false;
+        boolean categoriesChanged = false;
+        for (com.doable.dao.DataChange c : changes) {
+            switch (c.getEntity()) {
+                case TASK:
+                    if (c.concernsOwner(managerId)) {
+                        tasksChanged = true;
+                        progressChanged = true;
+                    }
+                    break;
+                case ASSIGNMENT:
+                    if (c.concernsOwner(managerId)) progressChanged = true;
+                    break;
+                case USER:
+                    if (c.concernsOwner(managerId)) employeesChanged = true;
+                    break;
+                case CATEGORY:
+                    categoriesChanged = true;
+                    // Category names are shown in the task and progress rows
+                    if (c.getKind() != com.doable.dao.DataChange.Kind.CREATED) {
+                        tasksChanged = true;
+                        progressChanged = true;
+                    }
+                    break;
+            }
+        }
+        if (tasksChanged) createdTasksPager.refresh();
+        if (progressChanged) progressPager.refresh();
+        if (employeesChanged) loadEmployees();
+        if (categoriesChanged) loadCreatedCategories();
+    }
+
     private void loadTaskCategories() {
         try {
-            CategoryDao categoryDao = new CategoryDao();
             List<Category> categories = categoryDao.findAll();
             
             ObservableList<String> categoryNames = FXCollections.observableArrayList();
@@ -830,7 +834,6 @@ public class ManagerDashboardController {
             Category category = new Category(name);
             category.setCreatedBy(currentUser.getId());
             
-            CategoryDao categoryDao = new CategoryDao();
             categoryDao.save(category);
             showAlert("Success", "Category created successfully!");
         } catch (Exception e) {
@@ -1046,14 +1049,8 @@ public class ManagerDashboardController {
 
             if (categoryStr != null && !categoryStr.isEmpty()) {
                 try {
-                    CategoryDao catDao = new CategoryDao();
-                    List<Category> categories = catDao.findAll();
-                    for (Category c : categories) {
-                        if (c.getName().equals(categoryStr)) {
-                            task.setCategoryId(c.getId());
-                            break;
-                        }
-                    }
+                    Category c = categoryDao.findByName(categoryStr);
+                    if (c != null) task.setCategoryId(c.getId());
                 } catch (Exception e) {}
             }
 
@@ -1061,8 +1058,7 @@ public class ManagerDashboardController {
             taskDao.save(task);
             
             // Log action
-            com.doable.dao.ActionLogDao logDao = new com.doable.dao.ActionLogDao();
-            logDao.save(new com.doable.model.ActionLog(
+            com.doable.dao.ActionLogAppender.getInstance().append(new com.doable.model.ActionLog(
                 currentUser.getId(),
                 "CREATE_TASK",
                 "Created task: " + task.getTitle() + " (ID:" + task.getId() + ")"
@@ -1119,7 +1115,6 @@ public class ManagerDashboardController {
     
     private void loadCategoriesForTaskFilter() {
         try {
-            CategoryDao categoryDao = new CategoryDao();
             List<Category> categories = categoryDao.findAll();
             
             ObservableList<String> categoryNames = FXCollections.observableArrayList();
@@ -1149,14 +1144,7 @@ public class ManagerDashboardController {
             }
             
             // Filter tasks by category
-            CategoryDao categoryDao = new CategoryDao();
-            Category cat = null;
-            for (Category c : categoryDao.findAll()) {
-                if (c.getName().equals(selectedCategory)) {
-                    cat = c;
-                    break;
-                }
-            }
+            Category cat = categoryDao.findByName(selectedCategory);
             
             if (cat == null) return;
             
@@ -1177,8 +1165,7 @@ public class ManagerDashboardController {
         try {
             if (currentUser == null) return;
             
-            UserDao userDao = new UserDao();
-            List<User> employees = userDao.getEmployeesByManager(currentUser.getId());
+            List<User> employees = UserDao.getEmployeesByManager(currentUser.getId());
             System.out.println("DEBUG loadEmployeesForAssignment: Manager ID=" + currentUser.getId() + ", has " + employees.size() + " employees");
             for (User emp : employees) {
                 System.out.println("  - Employee: " + emp.getUsername() + " (ID=" + emp.getId() + ")");
@@ -1228,45 +1215,27 @@ public class ManagerDashboardController {
 
             if (assignAllRadio.isSelected()) {
                 // Assign to all employees - create assignment entries for each
-                UserDao userDao = new UserDao();
-                List<User> employees = userDao.getEmployeesByManager(currentUser.getId());
+                List<User> employees = UserDao.getEmployeesByManager(currentUser.getId());
                 System.out.println("DEBUG handleAssignTask: Manager has " + employees.size() + " employees");
                 
-                int count = 0;
-                com.doable.dao.AssignmentDao assignmentDao = new com.doable.dao.AssignmentDao();
+                Map<Long, User> employeesById = new LinkedHashMap<>();
                 for (User employee : employees) {
-                    try {
-                        // Check if assignment already exists
-                        com.doable.model.Assignment existingAssignment = assignmentDao.findByTaskAndEmployee(taskToAssign.getId(), employee.getId());
-                        if (existingAssignment != null) {
-                            System.out.println("DEBUG: Assignment already exists for employee " + employee.getUsername() + ", skipping");
-                            continue; // Skip if already assigned
-                        }
-                    } catch (Exception e) {
-                        System.out.println("DEBUG: Error checking for existing assignment: " + e.getMessage());
-                    }
-                    
-                    // Create an assignment entry instead of duplicating the task
-                    com.doable.model.Assignment assignment = new com.doable.model.Assignment(
-                        taskToAssign.getId(),
-                        employee.getId(),
-                        currentUser.getId()
-                    );
-                    try {
-                        assignmentDao.save(assignment);
-                        System.out.println("DEBUG: Creating assignment for employee " + employee.getUsername() + " (ID=" + employee.getId() + ")");
-                        
-                        // Log action
-                        com.doable.dao.ActionLogDao logDao = new com.doable.dao.ActionLogDao();
-                        logDao.save(new com.doable.model.ActionLog(
-                            currentUser.getId(),
-                            "ASSIGN_TASK",
-                            "Assigned task \"" + taskToAssign.getTitle() + "\" (ID:" + taskToAssign.getId() + ") to " + employee.getUsername()
-                        ));
-                        count++;
-                    } catch (Exception ex) {
-                        System.out.println("DEBUG: Error creating assignment for " + employee.getUsername() + ": " + ex.getMessage());
-                    }
+                    employeesById.put(employee.getId(), employee);
+                }
+
+                // One transaction; employees that already have the task are skipped by the DAO
+                com.doable.dao.AssignmentDao assignmentDao = new com.doable.dao.AssignmentDao();
+                List<Long> assigned = assignmentDao.bulkAssign(taskToAssign.getId(),
+                        new ArrayList<>(employeesById.keySet()), currentUser.getId());
+                int count = assigned.size();
+
+                for (long employeeId : assigned) {
+                    // Log action
+                    com.doable.dao.ActionLogAppender.getInstance().append(new com.doable.model.ActionLog(
+                        currentUser.getId(),
+                        "ASSIGN_TASK",
+                        "Assigned task \"" + taskToAssign.getTitle() + "\" (ID:" + taskToAssign.getId() + ") to " + employeesById.get(employeeId).getUsername()
+                    ));
                 }
                 
                 assignErrorLabel.setText("");
@@ -1280,8 +1249,7 @@ public class ManagerDashboardController {
                     return;
                 }
 
-                UserDao userDao = new UserDao();
-                User employee = userDao.findByUsername(selectedEmployee);
+                User employee = UserDao.findByUsername(selectedEmployee);
                 System.out.println("DEBUG: Selected employee " + selectedEmployee + ", found employee: " + (employee != null ? employee.getId() : "NULL"));
                 
                 if (employee == null) {
@@ -1315,8 +1283,7 @@ public class ManagerDashboardController {
                     System.out.println("DEBUG: Created assignment for task ID=" + taskToAssign.getId() + ", employee=" + employee.getUsername());
                     
                     // Log action
-                    com.doable.dao.ActionLogDao logDao = new com.doable.dao.ActionLogDao();
-                    logDao.save(new com.doable.model.ActionLog(
+                    com.doable.dao.ActionLogAppender.getInstance().append(new com.doable.model.ActionLog(
                         currentUser.getId(),
                         "ASSIGN_TASK",
                         "Assigned task \"" + taskToAssign.getTitle() + "\" (ID:" + taskToAssign.getId() + ") to " + selectedEmployee
@@ -1332,7 +1299,7 @@ public class ManagerDashboardController {
 
             assignTaskCombo.setValue(null);
             assignEmployeeCombo.setValue(null);
-            loadTaskProgress();
+            // New rows reach the progress table through onDataChanges
         } catch (Exception e) {
             assignErrorLabel.setText("Error: " + e.getMessage());
             assignSuccessLabel.setText("");
@@ -1348,12 +1315,10 @@ public class ManagerDashboardController {
             // Get task and employee details for logging
             TaskDao taskDao = new TaskDao();
             Task task = taskDao.findById(taskId);
-            UserDao userDao = new UserDao();
-            User employee = userDao.findById(employeeId);
+            User employee = UserDao.findById(employeeId);
             
             // Log action
-            com.doable.dao.ActionLogDao logDao = new com.doable.dao.ActionLogDao();
-            logDao.save(new com.doable.model.ActionLog(
+            com.doable.dao.ActionLogAppender.getInstance().append(new com.doable.model.ActionLog(
                 currentUser.getId(),
                 "UNASSIGN_TASK",
                 "Unassigned task \"" + (task != null ? task.getTitle() : "Unknown") + "\" (ID:" + taskId + ") from " + (employee != null ? employee.getUsername() : "Unknown Employee")
@@ -1361,8 +1326,7 @@ public class ManagerDashboardController {
             
             System.out.println("DEBUG: Unassigned task ID=" + taskId + " from employee ID=" + employeeId);
             
-            // Refresh the progress table
-            loadTaskProgress();
+            // The progress table drops the row through onDataChanges
             
             showAlert("Success", "Task unassigned successfully!");
         } catch (Exception e) {
@@ -1426,132 +1390,89 @@ public class ManagerDashboardController {
         });
 
         createdTasksTable.getColumns().addAll(idCol, titleCol, descCol, catCol, dueCol, statusCol, actionsCol);
+        createdTasksPager = new com.doable.util.TablePager<>(createdTasksTable, this::toTaskRow, row -> row.id, TaskRow::sameAs, e -> {
+            System.out.println("DEBUG: Exception in loadCreatedTasks: " + e.getMessage());
+            e.printStackTrace();
+        });
     }
 
     private void loadCreatedTasks() {
-        try {
-            if (currentUser == null) {
-                System.out.println("DEBUG: currentUser is null in loadCreatedTasks");
-                return;
-            }
-            
-            System.out.println("DEBUG: Loading created tasks for user: " + currentUser.getId() + " (" + currentUser.getUsername() + ")");
-            
-            TaskDao taskDao = new TaskDao();
-            List<Task> tasks = taskDao.findAll();
-            
-            System.out.println("DEBUG: Total tasks in database: " + tasks.size());
-            
-            // Store all created tasks for filtering
-            List<Task> createdTasks = new ArrayList<>();
-            Set<String> categoryNames = new HashSet<>();
-            categoryNames.add("All Categories");
-            
-            for (Task task : tasks) {
-                if (task.getCreatedBy() == currentUser.getId()) {
-                    createdTasks.add(task);
-                    if (task.getCategoryId() > 0) {
-                        try {
-                            CategoryDao catDao = new CategoryDao();
-                            Category cat = catDao.findById(task.getCategoryId());
-                            if (cat != null) {
-                                categoryNames.add(cat.getName());
-                            }
-                        } catch (Exception e) {}
+        if (currentUser == null) {
+            System.out.println("DEBUG: currentUser is null in loadCreatedTasks");
+            return;
+        }
+        
+        System.out.println("DEBUG: Loading created tasks for user: " + currentUser.getId() + " (" + currentUser.getUsername() + ")");
+        
+        long managerId = currentUser.getId();
+        // Category names come from the per-manager category summary, not from the (paged) task list
+        com.doable.dao.ReportDao reportDao = new com.doable.dao.ReportDao();
+        com.doable.dao.AsyncDao.deliver(com.doable.dao.AsyncDao.getInstance().read(() -> reportDao.getCategoryBreakdown(managerId)),
+            breakdown -> {
+                Set<String> categoryNames = new LinkedHashSet<>();
+                categoryNames.add("All Categories");
+                for (String name : breakdown.keySet()) {
+                    if (!"Uncategorized".equals(name)) {
+                        categoryNames.add(name);
                     }
                 }
-            }
-            
-            // Load categories into filter dropdown
-            if (filterCreatedTasksCategoryCombo != null) {
-                filterCreatedTasksCategoryCombo.setItems(FXCollections.observableArrayList(categoryNames));
-                filterCreatedTasksCategoryCombo.setValue("All Categories");
-                filterCreatedTasksCategoryCombo.getSelectionModel().selectedItemProperty().removeListener((obs, old, newVal) -> filterCreatedTasksByCategory());
-                filterCreatedTasksCategoryCombo.getSelectionModel().selectedItemProperty().addListener((obs, old, newVal) -> filterCreatedTasksByCategory());
-            }
-            
-            // Display all created tasks
-            displayCreatedTasks(createdTasks);
-        } catch (Exception e) {
-            System.out.println("DEBUG: Exception in loadCreatedTasks: " + e.getMessage());
-            e.printStackTrace();
-        }
+                
+                // Load categories into filter dropdown
+                if (filterCreatedTasksCategoryCombo != null) {
+                    filterCreatedTasksCategoryCombo.setItems(FXCollections.observableArrayList(categoryNames));
+                    filterCreatedTasksCategoryCombo.setValue("All Categories");
+                    filterCreatedTasksCategoryCombo.getSelectionModel().selectedItemProperty().removeListener((obs, old, newVal) -> filterCreatedTasksByCategory());
+                    filterCreatedTasksCategoryCombo.getSelectionModel().selectedItemProperty().addListener((obs, old, newVal) -> filterCreatedTasksByCategory());
+                }
+            },
+            e -> System.out.println("DEBUG: Failed to load created task categories: " + e.getMessage()));
+
+        // Display all created tasks, one page at a time
+        showCreatedTasks(managerId, null);
     }
     
     private void filterCreatedTasksByCategory() {
-        try {
-            if (currentUser == null) return;
-            
-            String selectedCategory = filterCreatedTasksCategoryCombo.getValue();
-            
-            TaskDao taskDao = new TaskDao();
-            List<Task> allCreatedTasks = new ArrayList<>();
-            
-            for (Task task : taskDao.findAll()) {
-                if (task.getCreatedBy() == currentUser.getId()) {
-                    allCreatedTasks.add(task);
-                }
-            }
-            
-            // Filter by category if not "All Categories"
-            if (selectedCategory != null && !"All Categories".equals(selectedCategory)) {
-                List<Task> filtered = new ArrayList<>();
-                for (Task task : allCreatedTasks) {
-                    if (task.getCategoryId() > 0) {
-                        try {
-                            CategoryDao catDao = new CategoryDao();
-                            Category cat = catDao.findById(task.getCategoryId());
-                            if (cat != null && cat.getName().equals(selectedCategory)) {
-                                filtered.add(task);
-                            }
-                        } catch (Exception e) {}
-                    }
-                }
-                displayCreatedTasks(filtered);
-            } else {
-                displayCreatedTasks(allCreatedTasks);
+        if (currentUser == null) return;
+        
+        String selectedCategory = filterCreatedTasksCategoryCombo.getValue();
+        
+        // Filter by category if not "All Categories"
+        Long categoryId = null;
+        if (selectedCategory != null && !"All Categories".equals(selectedCategory)) {
+            try {
+                Category cat = categoryDao.findByName(selectedCategory);
+                categoryId = cat != null ? cat.getId() : -1L;
+            } catch (Exception e) {
+                System.out.println("DEBUG: Exception in filterCreatedTasksByCategory: " + e.getMessage());
+                return;
             }
-        } catch (Exception e) {
-            System.out.println("DEBUG: Exception in filterCreatedTasksByCategory: " + e.getMessage());
-            e.printStackTrace();
         }
+        showCreatedTasks(currentUser.getId(), categoryId);
+    }
+
+    private void showCreatedTasks(long managerId, Long categoryId) {
+        TaskDao taskDao = new TaskDao();
+        createdTasksPager.reset((after, limit) -> com.doable.dao.AsyncDao.getInstance().read(() -> taskDao.findPageByCreatedBy(
+                managerId, categoryId, after != null ? after.getDueDate() : null, after != null ? after.getId() : 0, limit)));
     }
     
-    private void displayCreatedTasks(List<Task> tasks) {
-        ObservableList<TaskRow> rows = FXCollections.observableArrayList();
-        for (Task task : tasks) {
-            String category = "No Category";
-            if (task.getCategoryId() > 0) {
-                try {
-                    CategoryDao catDao = new CategoryDao();
-                    Category cat = catDao.findById(task.getCategoryId());
-                    if (cat != null) {
-                        category = cat.getName();
-                    }
-                } catch (Exception e) {}
-            }
-            
-            String dueDate = task.getDueDate() != null ? task.getDueDate().format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")) : "Not set";
-            String status = task.isCompleted() ? "Completed" : "Pending";
-            
-            System.out.println("DEBUG: Adding task to table: " + task.getTitle());
-            rows.add(new TaskRow(task.getId(), task.getTitle(), task.getDescription(), category, dueDate, status, ""));
+    private TaskRow toTaskRow(Task task) {
+        String category = "No Category";
+        if (task.getCategoryId() > 0 && task.getCategoryName() != null) {
+            category = task.getCategoryName();
         }
-        System.out.println("DEBUG: Total rows to display: " + rows.size());
-        createdTasksTable.setItems(rows);
+        
+        String dueDate = task.getDueDate() != null ? task.getDueDate().format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")) : "Not set";
+        String status = task.isCompleted() ? "Completed" : "Pending";
+        
+        return new TaskRow(task.getId(), task.getTitle(), task.getDescription(), category, dueDate, status, "");
     }
 
     private void handleEditTask(TaskRow row) {
         try {
             // Fetch the full task object from database
             TaskDao taskDao = new TaskDao();
-            Task task = null;
-            for (Task t : taskDao.findAll()) {
-                if (t.getId() == row.id) {
-                    task = t;
-                    break;
-                }
-            }
+            Task task = taskDao.findById(row.id);
             
             if (task == null) {
                 showAlert("Error", "Could not find task to edit");
@@ -1583,8 +1504,7 @@ public class ManagerDashboardController {
             // Category field
             ComboBox<String> editCategoryCombo = new ComboBox<>();
             try {
-                CategoryDao catDao = new CategoryDao();
-                List<Category> categories = catDao.findAll();
+                List<Category> categories = categoryDao.findAll();
                 ObservableList<String> categoryNames = FXCollections.observableArrayList();
                 categoryNames.add("No Category");
                 for (Category c : categories) {
@@ -1593,7 +1513,7 @@ public class ManagerDashboardController {
                 editCategoryCombo.setItems(categoryNames);
                 
                 if (task.getCategoryId() > 0) {
-                    Category cat = catDao.findById(task.getCategoryId());
+                    Category cat = categoryDao.findById(task.getCategoryId());
                     if (cat != null) {
                         editCategoryCombo.setValue(cat.getName());
                     }
@@ -1706,14 +1626,8 @@ public class ManagerDashboardController {
                 String selectedCategory = editCategoryCombo.getValue();
                 if (selectedCategory != null && !selectedCategory.equals("No Category")) {
                     try {
-                        CategoryDao catDao = new CategoryDao();
-                        List<Category> categories = catDao.findAll();
-                        for (Category c : categories) {
-                            if (c.getName().equals(selectedCategory)) {
-                                task.setCategoryId(c.getId());
-                                break;
-                            }
-                        }
+                        Category c = categoryDao.findByName(selectedCategory);
+                        if (c != null) task.setCategoryId(c.getId());
                     } catch (Exception e) {}
                 } else {
                     task.setCategoryId(0);
@@ -1781,7 +1695,7 @@ public class ManagerDashboardController {
                 TaskDao taskDao = new TaskDao();
                 taskDao.delete(row.id);
                 showAlert("Success", "Task deleted successfully!");
-                loadCreatedTasks();
+                // The created tasks table drops the row through onDataChanges
             } catch (Exception e) {
                 showAlert("Error", "Failed to delete task: " + e.getMessage());
             }
@@ -1803,7 +1717,6 @@ public class ManagerDashboardController {
             Category category = new Category(name);
             category.setCreatedBy(currentUser.getId());
             
-            CategoryDao categoryDao = new CategoryDao();
             categoryDao.save(category);
 
             categoryName.clear();
@@ -1821,7 +1734,6 @@ public class ManagerDashboardController {
 
     private void loadCreatedCategories() {
         try {
-            CategoryDao categoryDao = new CategoryDao();
             allCategories = categoryDao.findAll();
             
             ObservableList<CategoryRow> data = FXCollections.observableArrayList();
@@ -1840,7 +1752,6 @@ public class ManagerDashboardController {
     private void handleEditCategory(CategoryRow row) {
         try {
             // Find the full category object
-            CategoryDao categoryDao = new CategoryDao();
             Category category = categoryDao.findById(row.id);
             
             if (category == null) {
@@ -1902,7 +1813,6 @@ public class ManagerDashboardController {
         Optional<ButtonType> result = confirmation.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
             try {
-                CategoryDao categoryDao = new CategoryDao();
                 categoryDao.delete(row.id);
                 
                 showAlert("Success", "Category deleted successfully!");
@@ -1970,7 +1880,6 @@ public class ManagerDashboardController {
 
     private void loadCategoriesForFilter() {
         try {
-            CategoryDao categoryDao = new CategoryDao();
             List<Category> categories = categoryDao.findAll();
             
             ObservableList<String> categoryNames = FXCollections.observableArrayList();
@@ -2040,88 +1949,48 @@ public class ManagerDashboardController {
         });
 
         progressTable.getColumns().addAll(empCol, taskCol, catCol, statusCol, progressCol, dateCol, unassignCol);
+        progressPager = new com.doable.util.TablePager<>(progressTable, this::toProgressRow, row -> row.assignmentId, ProgressRow::sameAs, e -> {
+            showAlert("Error", "Failed to load progress: " + e.getMessage());
+            e.printStackTrace();
+        });
     }
 
     private void loadTaskProgress() {
-        try {
-            String empFilter = filterEmployeeCombo.getValue();
-            String taskFilter = filterTaskCombo.getValue();
-            String catFilter = filterCategoryCombo.getValue();
-            String statusFilter = filterStatusCombo.getValue();
-            
-            System.out.println("DEBUG loadTaskProgress - Filters: emp=" + empFilter + ", task=" + taskFilter + ", cat=" + catFilter + ", status=" + statusFilter);
-
-            // Get all assignments made by this manager
-            com.doable.dao.AssignmentDao assignmentDao = new com.doable.dao.AssignmentDao();
-            List<com.doable.model.Assignment> assignments = assignmentDao.findByManagerId(currentUser.getId());
-            System.out.println("DEBUG: Manager has " + assignments.size() + " assignments");
-            
-            ObservableList<ProgressRow> data = FXCollections.observableArrayList();
-            TaskDao taskDao = new TaskDao();
-
-            for (com.doable.model.Assignment assignment : assignments) {
-                // Get task details
-                Task task = taskDao.findById(assignment.getTaskId());
-                if (task == null) {
-                    System.out.println("DEBUG: Task not found for assignment: taskId=" + assignment.getTaskId());
-                    continue;
-                }
-
-                // Get employee details
-                User employee = UserDao.findById(assignment.getEmployeeId());
-                if (employee == null) {
-                    System.out.println("DEBUG: Employee not found for assignment: employeeId=" + assignment.getEmployeeId());
-                    continue;
-                }
-
-                // Apply employee filter
-                if (empFilter != null && !empFilter.isEmpty() && !empFilter.equals("All employees")) {
-                    Long selectedEmployeeId = employeeFilterMap.get(empFilter);
-                    if (selectedEmployeeId == null || employee.getId() != selectedEmployeeId) continue;
-                }
-
-                // Apply task filter
-                if (taskFilter != null && !taskFilter.isEmpty() && !taskFilter.equals("All tasks")) {
-                    Long selectedTaskId = taskFilterMap.get(taskFilter);
-                    if (selectedTaskId == null || task.getId() != selectedTaskId) continue;
-                }
-
-                // Get status from assignment, not task
-                boolean isCompleted = assignment.isMarkedForCompletion();
-                
-                // Apply status filter
-                if (statusFilter != null && !statusFilter.isEmpty() && !statusFilter.equals("All")) {
-                    if (statusFilter.equals("Completed") && !isCompleted) continue;
-                    if (statusFilter.equals("Pending") && isCompleted) continue;
-                }
-
-                String category = "None";
-                if (task.getCategoryId() > 0) {
-                    CategoryDao catDao = new CategoryDao();
-                    Category cat = catDao.findById(task.getCategoryId());
-                    if (cat != null) category = cat.getName();
-                }
-
-                // Apply category filter
-                if (catFilter != null && !catFilter.isEmpty() && !catFilter.equals("All categories")) {
-                    if (!category.equals(catFilter)) continue;
-                }
-
-                String status = isCompleted ? "Completed" : "Pending";
-                String progress = isCompleted ? "100%" : "0%";
-                String assignedDate = task.getDueDate() != null ? 
-                    task.getDueDate().format(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd")) : "Not set";
+        String empFilter = filterEmployeeCombo.getValue();
+        String taskFilter = filterTaskCombo.getValue();
+        String catFilter = filterCategoryCombo.getValue();
+        String statusFilter = filterStatusCombo.getValue();
+        
+        System.out.println("DEBUG loadTaskProgress - Filters: emp=" + empFilter + ", task=" + taskFilter + ", cat=" + catFilter + ", status=" + statusFilter);
+
+        // Translate the combo selections into query filters; "All ..." means no filter
+        Long employeeId = empFilter != null && !empFilter.isEmpty() && !empFilter.equals("All employees")
+                ? employeeFilterMap.getOrDefault(empFilter, -1L) : null;
+        Long taskId = taskFilter != null && !taskFilter.isEmpty() && !taskFilter.equals("All tasks")
+                ? taskFilterMap.getOrDefault(taskFilter, -1L) : null;
+        String categoryName = catFilter != null && !catFilter.isEmpty() && !catFilter.equals("All categories")
+                ? catFilter : null;
+        Boolean completed = statusFilter == null ? null
+                : statusFilter.equals("Completed") ? Boolean.TRUE
+                : statusFilter.equals("Pending") ? Boolean.FALSE : null;
+
+        // A filter change restarts paging; a page still loading for the old filters is dropped
+        com.doable.dao.AssignmentDao assignmentDao = new com.doable.dao.AssignmentDao();
+        long managerId = currentUser.getId();
+        progressPager.reset((after, limit) -> com.doable.dao.AsyncDao.getInstance().read(() -> assignmentDao.findProgressByManager(
+                managerId, employeeId, taskId, categoryName, completed, after != null ? after.getAssignmentId() : 0, limit)));
+    }
 
-                System.out.println("DEBUG: Adding to progress table - " + employee.getUsername() + " - " + task.getTitle() + " - " + status);
-                data.add(new ProgressRow(task.getId(), employee.getId(), assignment.getId(), employee.getUsername(), task.getTitle(), category, status, progress, assignedDate));
-            }
+    private ProgressRow toProgressRow(com.doable.model.AssignmentProgress row) {
+        // Get status from assignment, not task
+        boolean isCompleted = row.isMarkedForCompletion();
+        String category = row.getCategoryName() != null ? row.getCategoryName() : "None";
+        String status = isCompleted ? "Completed" : "Pending";
+        String progress = isCompleted ? "100%" : "0%";
+        String assignedDate = row.getDueDate() != null ? row.getDueDate().format(PROGRESS_DATE_FORMAT) : "Not set";
 
-            System.out.println("DEBUG: Final progress table rows: " + data.size());
-            progressTable.setItems(data);
-        } catch (Exception e) {
-            showAlert("Error", "Failed to load progress: " + e.getMessage());
-            e.printStackTrace();
-        }
+        return new ProgressRow(row.getTaskId(), row.getEmployeeId(), row.getAssignmentId(), row.getEmployeeName(),
+                row.getTaskTitle(), category, status, progress, assignedDate);
     }
     
     private void loadProgressFilters() {
@@ -2133,8 +2002,7 @@ public class ManagerDashboardController {
             // Load employees
             ObservableList<String> employees = FXCollections.observableArrayList();
             employees.add("All employees");
-            UserDao userDao = new UserDao();
-            List<User> empList = userDao.getEmployeesByManager(currentUser.getId());
+            List<User> empList = UserDao.getEmployeesByManager(currentUser.getId());
             System.out.println("DEBUG loadProgressFilters: Manager ID=" + currentUser.getId() + ", has " + empList.size() + " employees");
             for (User emp : empList) {
                 System.out.println("  - Employee: " + emp.getUsername() + " (ID=" + emp.getId() + ")");
@@ -2165,8 +2033,7 @@ public class ManagerDashboardController {
             // Load categories
             ObservableList<String> categories = FXCollections.observableArrayList();
             categories.add("All categories");
-            CategoryDao catDao = new CategoryDao();
-            List<Category> catList = catDao.findAll();
+            List<Category> catList = categoryDao.findAll();
             for (Category cat : catList) {
                 categories.add(cat.getName());
             }
@@ -2226,6 +2093,12 @@ public class ManagerDashboardController {
             this.status = status;
             this.created = created;
         }
+
+        boolean sameAs(TaskRow o) {
+            return id == o.id && Objects.equals(title, o.title) && Objects.equals(description, o.description)
+                    && Objects.equals(category, o.category) && Objects.equals(dueDate, o.dueDate)
+                    && Objects.equals(status, o.status) && Objects.equals(created, o.created);
+        }
     }
 
     public static class CategoryRow {
@@ -2262,5 +2135,12 @@ public class ManagerDashboardController {
             this.progress = progress;
             this.assignedDate = assignedDate;
         }
+
+        boolean sameAs(ProgressRow o) {
+            return assignmentId == o.assignmentId && taskId == o.taskId && employeeId == o.employeeId
+                    && Objects.equals(employeeName, o.employeeName) && Objects.equals(taskTitle, o.taskTitle)
+                    && Objects.equals(category, o.category) && Objects.equals(status, o.status)
+                    && Objects.equals(progress, o.progress) && Objects.equals(assignedDate, o.assignedDate);
+        }
     }
 }
@@ -0,0 +1,116 @@
+package com.doable.dao;
+
+import com.doable.model.ActionLog;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind audit log.
+ * {@link #append(ActionLog)} only enqueues; a background thread writes the queued logs in
+ * batched transactions once BATCH_SIZE logs are waiting or FLUSH_INTERVAL_MS has passed.
+ * {@link #shutdown()} drains whatever is left and must run before the database is closed.
+ */
+public class ActionLogAppender {
+    private static final int CAPACITY = 10000;
+    private static final int BATCH_SIZE = 500;
+    private static final long FLUSH_INTERVAL_MS = 250;
+
+    private static ActionLogAppender INSTANCE;
+
+    private final BlockingQueue<ActionLog> queue = new ArrayBlockingQueue<>(CAPACITY);
+    private final ActionLogDao dao = new ActionLogDao();
+    private final Object flushLock = new Object(); // one batch in flight at a time
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    private ActionLogAppender() {
+        worker = new Thread(this::runLoop, "ActionLogAppenderThread");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public static synchronized ActionLogAppender getInstance() {
+        if (INSTANCE == null) INSTANCE = new ActionLogAppender();
+        return INSTANCE;
+    }
+
+    /**
+     * Queue a log for writing. If the queue is full (or the appender is shut down) the log is
+     * written on the caller's thread so audit records are never dropped.
+     */
+    public void append(ActionLog log) {
+        if (running && queue.offer(log)) return;
+        try {
+            dao.save(log);
+        } catch (SQLException e) {
+            System.err.println("Error writing action log: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Write everything queued so far before returning.
+     */
+    public void flush() {
+        List<ActionLog> batch = new ArrayList<>();
+        while (queue.drainTo(batch, BATCH_SIZE) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Stop the background thread and drain the queue.
+     */
+    public void shutdown() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private void runLoop() {
+        List<ActionLog> batch = new ArrayList<>(BATCH_SIZE);
+        while (running) {
+            try {
+                ActionLog first = queue.poll(FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                // Give a burst a moment to fill the batch before committing
+                long deadline = System.currentTimeMillis() + FLUSH_INTERVAL_MS;
+                while (batch.size() < BATCH_SIZE) {
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) break;
+                    queue.drainTo(batch, BATCH_SIZE - batch.size());
+                    if (batch.size() >= BATCH_SIZE) break;
+                    ActionLog next = queue.poll(remaining, TimeUnit.MILLISECONDS);
+                    if (next == null) break;
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // shutdown(); fall through and write what we have
+            }
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<ActionLog> batch) {
+        if (batch.isEmpty()) return;
+        synchronized (flushLock) {
+            try {
+                dao.insertBatch(batch);
+            } catch (SQLException e) {
+                System.err.println("Error writing " + batch.size() + " action logs: " + e.getMessage());
+            }
+        }
+    }
+}
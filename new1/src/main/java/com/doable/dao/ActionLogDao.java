@@ -1,18 +1,16 @@
 package com.doable.dao;
 
 import java.sql.*;
-import java.util.ArrayList;
 import java.util.List;
 
 import com.doable.db.Database;
 import com.doable.model.ActionLog;
 
 public class ActionLogDao {
-    private final Connection conn;
+    private static final RowMapper<ActionLog> LOG = new RowMapper<>(ActionLogDao::mapLog,
+            "id", "user_id", "action_type", "description", "timestamp");
 
-    public ActionLogDao() {
-        this.conn = Database.getInstance().getConnection();
-    }
+    private final Database db = Database.getInstance();
 
     public ActionLog save(ActionLog log) throws SQLException {
         if (log.getId() == 0) return insert(log);
@@ -22,114 +20,133 @@ public class ActionLogDao {
 
     private ActionLog insert(ActionLog log) throws SQLException {
         String sql = "INSERT INTO action_logs(user_id, action_type, description, timestamp) VALUES(?,?,?,?)";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setLong(1, log.getUserId());
-            ps.setString(2, log.getActionType());
-            ps.setString(3, log.getDescription());
-            ps.setLong(4, log.getTimestamp());
-            ps.executeUpdate();
-            try (Statement stmt = conn.createStatement();
-                 ResultSet rs = stmt.executeQuery("SELECT last_insert_rowid()")) {
-                if (rs.next()) log.setId(rs.getLong(1));
-            }
-        }
+        log.setId(Inserts.insert(sql, log, ActionLogDao::bindInsert));
         return log;
     }
 
+    /**
+     * Insert many logs in a single transaction and set their generated ids.
+     */
+    public void insertBatch(List<ActionLog> logs) throws SQLException {
+        String sql = "INSERT INTO action_logs(user_id, action_type, description, timestamp) VALUES(?,?,?,?)";
+        long[] ids = Inserts.insertAll(sql, logs, ActionLogDao::bindInsert);
+        for (int i = 0; i < ids.length; i++) {
+            logs.get(i).setId(ids[i]);
+        }
+    }
+
+    private static void bindInsert(PreparedStatement ps, ActionLog log) throws SQLException {
+        ps.setLong(1, log.getUserId());
+        ps.setString(2, log.getActionType());
+        ps.setString(3, log.getDescription());
+        ps.setLong(4, log.getTimestamp());
+    }
+
     private void update(ActionLog log) throws SQLException {
         String sql = "UPDATE action_logs SET user_id=?, action_type=?, description=?, timestamp=? WHERE id=?";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+        db.writeLock().lock();
+        try {
+            PreparedStatement ps = db.prepareWrite(sql);
             ps.setLong(1, log.getUserId());
             ps.setString(2, log.getActionType());
             ps.setString(3, log.getDescription());
             ps.setLong(4, log.getTimestamp());
             ps.setLong(5, log.getId());
             ps.executeUpdate();
+        } finally {
+            db.writeLock().unlock();
         }
     }
 
     public void delete(long id) throws SQLException {
-        try (PreparedStatement ps = conn.prepareStatement("DELETE FROM action_logs WHERE id=?")) {
+        db.writeLock().lock();
+        try {
+            PreparedStatement ps = db.prepareWrite("DELETE FROM action_logs WHERE id=?");
             ps.setLong(1, id);
             ps.executeUpdate();
+        } finally {
+            db.writeLock().unlock();
         }
     }
 
     public ActionLog findById(long id) throws SQLException {
         String sql = "SELECT id, user_id, action_type, description, timestamp FROM action_logs WHERE id=?";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+        try (Connection rc = db.getReadConnection()) {
+            PreparedStatement ps = db.prepareRead(rc, sql);
             ps.setLong(1, id);
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    ActionLog log = new ActionLog();
-                    log.setId(rs.getLong("id"));
-                    log.setUserId(rs.getLong("user_id"));
-                    log.setActionType(rs.getString("action_type"));
-                    log.setDescription(rs.getString("description"));
-                    log.setTimestamp(rs.getLong("timestamp"));
-                    return log;
-                }
-            }
+            return LOG.first(ps);
         }
-        return null;
     }
 
     public List<ActionLog> findByUserId(long userId) throws SQLException {
-        List<ActionLog> list = new ArrayList<>();
         String sql = "SELECT id, user_id, action_type, description, timestamp FROM action_logs WHERE user_id=? ORDER BY timestamp DESC";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+        try (Connection rc = db.getReadConnection()) {
+            PreparedStatement ps = db.prepareRead(rc, sql);
             ps.setLong(1, userId);
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    ActionLog log = new ActionLog();
-                    log.setId(rs.getLong("id"));
-                    log.setUserId(rs.getLong("user_id"));
-                    log.setActionType(rs.getString("action_type"));
-                    log.setDescription(rs.getString("description"));
-                    log.setTimestamp(rs.getLong("timestamp"));
-                    list.add(log);
-                }
-            }
+            return LOG.list(ps);
         }
-        return list;
     }
 
     public List<ActionLog> findByActionType(String actionType) throws SQLException {
-        List<ActionLog> list = new ArrayList<>();
         String sql = "SELECT id, user_id, action_type, description, timestamp FROM action_logs WHERE action_type=? ORDER BY timestamp DESC";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+        try (Connection rc = db.getReadConnection()) {
+            PreparedStatement ps = db.prepareRead(rc, sql);
             ps.setString(1, actionType);
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    ActionLog log = new ActionLog();
-                    log.setId(rs.getLong("id"));
-                    log.setUserId(rs.getLong("user_id"));
-                    log.setActionType(rs.getString("action_type"));
-                    log.setDescription(rs.getString("description"));
-                    log.setTimestamp(rs.getLong("timestamp"));
-                    list.add(log);
-                }
-            }
+            return LOG.list(ps);
         }
-        return list;
     }
 
     public List<ActionLog> findAll() throws SQLException {
-        List<ActionLog> list = new ArrayList<>();
         String sql = "SELECT id, user_id, action_type, description, timestamp FROM action_logs ORDER BY timestamp DESC";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    ActionLog log = new ActionLog();
-                    log.setId(rs.getLong("id"));
-                    log.setUserId(rs.getLong("user_id"));
-                    log.setActionType(rs.getString("action_type"));
-                    log.setDescription(rs.getString("description"));
-                    log.setTimestamp(rs.getLong("timestamp"));
-                    list.add(log);
-                }
+        try (Connection rc = db.getReadConnection()) {
+            PreparedStatement ps = db.prepareRead(rc, sql);
+            return LOG.list(ps);
+        }
+    }
+
+    /**
+     * One keyset page of findAll (newest first). Pass the timestamp and id of the last log already
+     * shown, or beforeId 0 for the first page. Served from idx_action_logs_ts (timestamp, rowid).
+     */
+    public List<ActionLog> findPage(long beforeTimestamp, long beforeId, int limit) throws SQLException {
+        return findLogPage(null, beforeTimestamp, beforeId, limit);
+    }
+
+    /**
+     * Keyset page of findByUserId, served from idx_action_logs_user_ts (user_id, timestamp, rowid).
+     */
+    public List<ActionLog> findPageByUserId(long userId, long beforeTimestamp, long beforeId, int limit) throws SQLException {
+        return findLogPage(userId, beforeTimestamp, beforeId, limit);
+    }
+
+    private List<ActionLog> findLogPage(Long userId, long beforeTimestamp, long beforeId, int limit) throws SQLException {
+        boolean firstPage = beforeId <= 0;
+        StringBuilder sql = new StringBuilder("SELECT id, user_id, action_type, description, timestamp FROM action_logs WHERE 1=1");
+        if (userId != null) sql.append(" AND user_id=?");
+        if (!firstPage) sql.append(" AND (timestamp < ? OR (timestamp = ? AND id < ?))");
+        sql.append(" ORDER BY timestamp DESC, id DESC LIMIT ?");
+
+        try (Connection rc = db.getReadConnection()) {
+            PreparedStatement ps = db.prepareRead(rc, sql.toString());
+            int i = 1;
+            if (userId != null) ps.setLong(i++, userId);
+            if (!firstPage) {
+                ps.setLong(i++, beforeTimestamp);
+                ps.setLong(i++, beforeTimestamp);
+                ps.setLong(i++, beforeId);
             }
+            ps.setInt(i, limit);
+            return LOG.list(ps);
         }
-        return list;
+    }
+
+    private static ActionLog mapLog(ResultSet rs, int[] col) throws SQLException {
+        ActionLog log = new ActionLog();
+        log.setId(rs.getLong(col[0]));
+        log.setUserId(rs.getLong(col[1]));
+        log.setActionType(rs.getString(col[2]));
+        log.setDescription(rs.getString(col[3]));
+        log.setTimestamp(rs.getLong(col[4]));
+        return log;
     }
 }
@@ -2,141 +2,233 @@ package com.doable.dao;
 
 import com.doable.db.Database;
 import com.doable.model.Assignment;
+import com.doable.model.AssignmentProgress;
+import com.doable.util.ReminderScheduler;
 
 import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 
 public class AssignmentDao {
-    private final Connection conn;
+    private static final RowMapper<Assignment> ASSIGNMENT = new RowMapper<>(AssignmentDao::mapAssignment,
+            "id", "task_id", "employee_id", "assigned_by", "assigned_at", "marked_for_completion", "completed_at");
+    private static final RowMapper<AssignmentProgress> PROGRESS = new RowMapper<>(AssignmentDao::mapProgress,
+            "id", "task_id", "employee_id", "marked_for_completion", "username", "title", "due_date", "name");
 
-    public AssignmentDao() {
-        this.conn = Database.getInstance().getConnection();
-    }
+    private final Database db = Database.getInstance();
 
     public Assignment save(Assignment assignment) throws SQLException {
-        if (assignment.getId() == 0) return insert(assignment);
-        update(assignment);
+        if (assignment.getId() == 0) {
+            insert(assignment);
+            DataChangeBus.getInstance().publish(DataChange.assignment(DataChange.Kind.CREATED, assignment));
+        } else {
+            if (update(assignment) > 0) {
+                DataChangeBus.getInstance().publish(DataChange.assignment(DataChange.Kind.UPDATED, assignment));
+            }
+        }
+        ReminderScheduler.getInstance().taskChanged(assignment.getTaskId());
         return assignment;
     }
 
     private Assignment insert(Assignment a) throws SQLException {
         String sql = "INSERT INTO assignments(task_id, employee_id, assigned_by, assigned_at, marked_for_completion, completed_at) VALUES(?,?,?,?,?,?)";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setLong(1, a.getTaskId());
-            ps.setLong(2, a.getEmployeeId());
-            ps.setLong(3, a.getAssignedBy());
-            ps.setLong(4, a.getAssignedAt());
-            ps.setInt(5, a.isMarkedForCompletion() ? 1 : 0);
-            ps.setLong(6, a.getCompletedAt());
-            ps.executeUpdate();
-            // Get the last inserted ID
-            try (Statement stmt = conn.createStatement();
-                 ResultSet rs = stmt.executeQuery("SELECT last_insert_rowid()")) {
-                if (rs.next()) a.setId(rs.getLong(1));
-            }
-        }
+        a.setId(Inserts.insert(sql, a, (ps, row) -> {
+            ps.setLong(1, row.getTaskId());
+            ps.setLong(2, row.getEmployeeId());
+            ps.setLong(3, row.getAssignedBy());
+            ps.setLong(4, row.getAssignedAt());
+            ps.setInt(5, row.isMarkedForCompletion() ? 1 : 0);
+            ps.setLong(6, row.getCompletedAt());
+        }));
         System.out.println("DEBUG AssignmentDao.insert: Created assignment - taskId=" + a.getTaskId() + ", employeeId=" + a.getEmployeeId());
         return a;
     }
 
-    private void update(Assignment a) throws SQLException {
+    /**
+     * Assign one task to many employees in a single transaction. Employees that already have the
+     * task are skipped by the UNIQUE(task_id, employee_id) constraint rather than a lookup per row.
+     * Returns the ids of the employees that were actually assigned; its size is the insert count.
+     */
+    public List<Long> bulkAssign(long taskId, List<Long> employeeIds, long assignedBy) throws SQLException {
+        List<Long> inserted = new ArrayList<>();
+        if (employeeIds.isEmpty()) return inserted;
+        String sql = "INSERT INTO assignments(task_id, employee_id, assigned_by, assigned_at, marked_for_completion, completed_at) " +
+                     "VALUES(?,?,?,?,0,0) ON CONFLICT(task_id, employee_id) DO NOTHING";
+        long now = System.currentTimeMillis();
+        long[] ids = Inserts.insertAll(sql, employeeIds, (ps, employeeId) -> {
+            ps.setLong(1, taskId);
+            ps.setLong(2, employeeId);
+            ps.setLong(3, assignedBy);
+            ps.setLong(4, now);
+        });
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] == 0) continue;
+            inserted.add(employeeIds.get(i));
+            DataChangeBus.getInstance().publish(DataChange.assignment(DataChange.Kind.CREATED, ids[i], taskId, employeeIds.get(i), assignedBy));
+        }
+        if (!inserted.isEmpty()) ReminderScheduler.getInstance().taskChanged(taskId);
+        return inserted;
+    }
+
+    private int update(Assignment a) throws SQLException {
         String sql = "UPDATE assignments SET marked_for_completion=?, completed_at=? WHERE id=?";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+        db.writeLock().lock();
+        try {
+            PreparedStatement ps = db.prepareWrite(sql);
             ps.setInt(1, a.isMarkedForCompletion() ? 1 : 0);
             ps.setLong(2, a.getCompletedAt());
             ps.setLong(3, a.getId());
-            ps.executeUpdate();
+            int count = ps.executeUpdate();
             System.out.println("DEBUG AssignmentDao.update: Updated assignment ID=" + a.getId() + ", markedForCompletion=" + a.isMarkedForCompletion());
+            return count;
+        } finally {
+            db.writeLock().unlock();
         }
     }
 
     public Assignment findById(long id) throws SQLException {
         String sql = "SELECT * FROM assignments WHERE id = ?";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+        try (Connection rc = db.getReadConnection()) {
+            PreparedStatement ps = db.prepareRead(rc, sql);
             ps.setLong(1, id);
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    return mapResultSetToAssignment(rs);
-                }
-            }
+            return ASSIGNMENT.first(ps);
         }
-        return null;
     }
 
     public List<Assignment> findByTaskId(long taskId) throws SQLException {
-        List<Assignment> assignments = new ArrayList<>();
         String sql = "SELECT * FROM assignments WHERE task_id = ?";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+        try (Connection rc = db.getReadConnection()) {
+            PreparedStatement ps = db.prepareRead(rc, sql);
             ps.setLong(1, taskId);
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    assignments.add(mapResultSetToAssignment(rs));
-                }
-            }
+            return ASSIGNMENT.list(ps);
         }
-        return assignments;
     }
 
     public List<Assignment> findByEmployeeId(long employeeId) throws SQLException {
-        List<Assignment> assignments = new ArrayList<>();
         String sql = "SELECT * FROM assignments WHERE employee_id = ?";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+        try (Connection rc = db.getReadConnection()) {
+            PreparedStatement ps = db.prepareRead(rc, sql);
             ps.setLong(1, employeeId);
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    assignments.add(mapResultSetToAssignment(rs));
-                }
-            }
+            return ASSIGNMENT.list(ps);
         }
-        return assignments;
     }
 
     public List<Assignment> findByManagerId(long managerId) throws SQLException {
-        List<Assignment> assignments = new ArrayList<>();
         String sql = "SELECT * FROM assignments WHERE assigned_by = ?";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+        try (Connection rc = db.getReadConnection()) {
+            PreparedStatement ps = db.prepareRead(rc, sql);
             ps.setLong(1, managerId);
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    assignments.add(mapResultSetToAssignment(rs));
-                }
-            }
+            return ASSIGNMENT.list(ps);
         }
-        return assignments;
     }
 
     public Assignment findByTaskAndEmployee(long taskId, long employeeId) throws SQLException {
         String sql = "SELECT * FROM assignments WHERE task_id = ? AND employee_id = ?";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+        try (Connection rc = db.getReadConnection()) {
+            PreparedStatement ps = db.prepareRead(rc, sql);
             ps.setLong(1, taskId);
             ps.setLong(2, employeeId);
+            return ASSIGNMENT.first(ps);
+        }
+    }
+
+    public void delete(long id) throws SQLException {
+        // RETURNING hands task, employee and manager to the change event without a lookup first
+        String sql = "DELETE FROM assignments WHERE id = ? RETURNING task_id, employee_id, assigned_by";
+        db.writeLock().lock();
+        try {
+            PreparedStatement ps = db.prepareWrite(sql);
+            ps.setLong(1, id);
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    return mapResultSetToAssignment(rs);
+                    DataChangeBus.getInstance().publish(DataChange.assignment(DataChange.Kind.DELETED, id, rs.getLong(1), rs.getLong(2), rs.getLong(3)));
                 }
             }
+        } finally {
+            db.writeLock().unlock();
         }
-        return null;
     }
 
-    public void delete(long id) throws SQLException {
-        String sql = "DELETE FROM assignments WHERE id = ?";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setLong(1, id);
-            ps.executeUpdate();
+    /**
+     * Progress rows for every assignment made by a manager, joined with task, employee and
+     * category in one query. Null filter arguments mean "no filter"; the rest are bound as
+     * parameters so the WHERE clause can use the assignment indexes.
+     */
+    public List<AssignmentProgress> findProgressByManager(long managerId, Long employeeId, Long taskId,
+                                                          String categoryName, Boolean markedForCompletion) throws SQLException {
+        return findProgressByManager(managerId, employeeId, taskId, categoryName, markedForCompletion, 0, -1);
+    }
+
+    /**
+     * Keyset page of findProgressByManager: rows with an assignment id above afterAssignmentId
+     * (0 for the first page), at most limit of them (-1 for no limit).
+     */
+    public List<AssignmentProgress> findProgressByManager(long managerId, Long employeeId, Long taskId,
+                                                          String categoryName, Boolean markedForCompletion,
+                                                          long afterAssignmentId, int limit) throws SQLException {
+        StringBuilder sql = new StringBuilder(
+                "SELECT a.id, a.task_id, a.employee_id, a.marked_for_completion, u.username, t.title, t.due_date, c.name " +
+                "FROM assignments a " +
+                "JOIN tasks t ON t.id = a.task_id " +
+                "JOIN users u ON u.id = a.employee_id " +
+                "LEFT JOIN categories c ON c.id = t.category_id " +
+                "WHERE a.assigned_by = ?");
+        List<Object> params = new ArrayList<>();
+        params.add(managerId);
+        if (employeeId != null) {
+            sql.append(" AND a.employee_id = ?");
+            params.add(employeeId);
+        }
+        if (taskId != null) {
+            sql.append(" AND a.task_id = ?");
+            params.add(taskId);
+        }
+        if (categoryName != null) {
+            sql.append(" AND c.name = ?");
+            params.add(categoryName);
+        }
+        if (markedForCompletion != null) {
+            sql.append(" AND a.marked_for_completion = ?");
+            params.add(markedForCompletion ? 1 : 0);
+        }
+        if (afterAssignmentId > 0) {
+            sql.append(" AND a.id > ?");
+            params.add(afterAssignmentId);
+        }
+        sql.append(" ORDER BY a.id LIMIT ?");
+        params.add(limit);
+
+        try (Connection rc = db.getReadConnection()) {
+            PreparedStatement ps = db.prepareRead(rc, sql.toString());
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
+            return PROGRESS.list(ps);
         }
     }
 
-    private Assignment mapResultSetToAssignment(ResultSet rs) throws SQLException {
+    private static Assignment mapAssignment(ResultSet rs, int[] col) throws SQLException {
         Assignment a = new Assignment();
-        a.setId(rs.getLong("id"));
-        a.setTaskId(rs.getLong("task_id"));
-        a.setEmployeeId(rs.getLong("employee_id"));
-        a.setAssignedBy(rs.getLong("assigned_by"));
-        a.setAssignedAt(rs.getLong("assigned_at"));
-        a.setMarkedForCompletion(rs.getInt("marked_for_completion") == 1);
-        a.setCompletedAt(rs.getLong("completed_at"));
+        a.setId(rs.getLong(col[0]));
+        a.setTaskId(rs.getLong(col[1]));
+        a.setEmployeeId(rs.getLong(col[2]));
+        a.setAssignedBy(rs.getLong(col[3]));
+        a.setAssignedAt(rs.getLong(col[4]));
+        a.setMarkedForCompletion(rs.getInt(col[5]) == 1);
+        a.setCompletedAt(rs.getLong(col[6]));
         return a;
     }
+
+    private static AssignmentProgress mapProgress(ResultSet rs, int[] col) throws SQLException {
+        AssignmentProgress p = new AssignmentProgress();
+        p.setAssignmentId(rs.getLong(col[0]));
+        p.setTaskId(rs.getLong(col[1]));
+        p.setEmployeeId(rs.getLong(col[2]));
+        p.setMarkedForCompletion(rs.getInt(col[3]) == 1);
+        p.setEmployeeName(rs.getString(col[4]));
+        p.setTaskTitle(rs.getString(col[5]));
+        p.setDueDate(Database.fromEpochMillis(rs, col[6]));
+        p.setCategoryName(rs.getString(col[7]));
+        return p;
+    }
 }
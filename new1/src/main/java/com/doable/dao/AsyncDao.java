@@ -0,0 +1,128 @@
+package com.doable.dao;
+
+import javafx.application.Platform;
+
+import java.sql.SQLException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs DAO calls off the JavaFX Application Thread.
+ * Reads go to a small daemon pool sized like the database's read-connection pool (extra threads
+ * would only wait for a connection). Writes go to a single writer thread, so they reach SQLite's
+ * one write connection in submission order. Results come back on the FX thread through
+ * {@link #deliver} or a {@link Latest} slot, which also drops responses that were superseded.
+ *
+ * <pre>
+ * taskLoad.submit(AsyncDao.getInstance().read(() -> taskDao.findForEmployee(id, false)),
+ *         tasks -> show(tasks), e -> statusLabel.setText(e.getMessage()));
+ * </pre>
+ */
+public class AsyncDao {
+    private static final int READ_THREADS = 4;
+    private static final long SHUTDOWN_TIMEOUT_MS = 5000;
+
+    private static AsyncDao INSTANCE;
+
+    private final ExecutorService readers = Executors.newFixedThreadPool(READ_THREADS, daemonThreads("AsyncDaoReader-"));
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(daemonThreads("AsyncDaoWriter-"));
+
+    @FunctionalInterface
+    public interface SqlCall<T> {
+        T call() throws SQLException;
+    }
+
+    private AsyncDao() {}
+
+    public static synchronized AsyncDao getInstance() {
+        if (INSTANCE == null) INSTANCE = new AsyncDao();
+        return INSTANCE;
+    }
+
+    public <T> CompletableFuture<T> read(SqlCall<T> call) {
+        return submit(call, readers);
+    }
+
+    /**
+     * Queue a write behind every write submitted before it.
+     */
+    public <T> CompletableFuture<T> write(SqlCall<T> call) {
+        return submit(call, writer);
+    }
+
+    private static <T> CompletableFuture<T> submit(SqlCall<T> call, Executor executor) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return call.call();
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Hand the outcome to the FX thread. Cancelled futures report nothing.
+     */
+    public static <T> void deliver(CompletableFuture<T> future, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        future.whenComplete((value, error) -> Platform.runLater(() -> dispatch(value, error, onSuccess, onError)));
+    }
+
+    /**
+     * One in-flight request per view. Submitting a new request cancels the previous one (a queued
+     * read never runs) and only the newest result is delivered. Use from the FX thread only.
+     */
+    public static final class Latest<T> {
+        private CompletableFuture<T> current;
+
+        public void submit(CompletableFuture<T> future, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+            if (current != null) current.cancel(false);
+            current = future;
+            future.whenComplete((value, error) -> Platform.runLater(() -> {
+                if (current != future) return; // superseded
+                current = null;
+                dispatch(value, error, onSuccess, onError);
+            }));
+        }
+    }
+
+    /**
+     * Stop taking work, let queued writes finish, drop pending reads.
+     */
+    public void shutdown() {
+        readers.shutdownNow();
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                System.err.println("AsyncDao writer did not drain within " + SHUTDOWN_TIMEOUT_MS + " ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static <T> void dispatch(T value, Throwable error, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        if (error == null) {
+            onSuccess.accept(value);
+            return;
+        }
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (!(cause instanceof CancellationException)) onError.accept(cause);
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
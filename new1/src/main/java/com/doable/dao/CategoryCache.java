@@ -0,0 +1,97 @@
+package com.doable.dao;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.doable.model.Category;
+
+/**
+ * Process-wide read-through cache of the categories table, indexed by id and by name.
+ * Categories are few and rarely change, so the whole table is loaded as one immutable snapshot
+ * on the first miss and dropped by {@link #invalidate()} after every CategoryDao write.
+ * A load that overlaps an invalidation is not installed, so a stale snapshot never outlives a write.
+ * Callers get copies; mutating a returned Category does not touch the cache.
+ */
+final class CategoryCache {
+    interface Loader {
+        List<Category> loadAll() throws SQLException;
+    }
+
+    private static final class Snapshot {
+        final List<Category> ordered;
+        final Map<Long, Category> byId = new HashMap<>();
+        final Map<String, Category> byName = new HashMap<>();
+
+        Snapshot(List<Category> ordered) {
+            this.ordered = Collections.unmodifiableList(ordered);
+            for (Category c : ordered) {
+                byId.put(c.getId(), c);
+                byName.put(c.getName(), c);
+            }
+        }
+    }
+
+    private static final CategoryCache INSTANCE = new CategoryCache();
+
+    private volatile Snapshot snapshot;
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private CategoryCache() {}
+
+    static CategoryCache getInstance() { return INSTANCE; }
+
+    /**
+     * All categories ordered by name.
+     */
+    List<Category> all(Loader loader) throws SQLException {
+        List<Category> copies = new ArrayList<>();
+        for (Category c : snapshot(loader).ordered) copies.add(copy(c));
+        return copies;
+    }
+
+    Category byId(long id, Loader loader) throws SQLException {
+        return copy(snapshot(loader).byId.get(id));
+    }
+
+    Category byName(String name, Loader loader) throws SQLException {
+        return copy(snapshot(loader).byName.get(name));
+    }
+
+    void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    long getHits() { return hits.get(); }
+    long getMisses() { return misses.get(); }
+
+    private Snapshot snapshot(Loader loader) throws SQLException {
+        Snapshot current = snapshot;
+        if (current != null) {
+            hits.incrementAndGet();
+            return current;
+        }
+        misses.incrementAndGet();
+        long gen = generation.get();
+        Snapshot loaded = new Snapshot(loader.loadAll());
+        synchronized (this) {
+            if (generation.get() == gen) snapshot = loaded;
+        }
+        return loaded;
+    }
+
+    private static Category copy(Category c) {
+        if (c == null) return null;
+        Category copy = new Category(c.getId(), c.getName());
+        copy.setCreatedBy(c.getCreatedBy());
+        copy.setCreatedByUsername(c.getCreatedByUsername());
+        return copy;
+    }
+}
@@ -8,38 +8,44 @@ import com.doable.db.Database;
 import com.doable.model.Category;
 
 public class CategoryDao {
-    private final Connection conn;
+    private final Database db = Database.getInstance();
 
-    public CategoryDao() { this.conn = Database.getInstance().getConnection(); }
+    private final CategoryCache cache = CategoryCache.getInstance();
 
     public Category save(Category c) throws SQLException {
-        if (c.getId() == 0) return insert(c);
-        update(c);
-        return c;
+        try {
+            if (c.getId() == 0) {
+                insert(c);
+                DataChangeBus.getInstance().publish(DataChange.category(DataChange.Kind.CREATED, c));
+            } else {
+                if (update(c) > 0) {
+                    DataChangeBus.getInstance().publish(DataChange.category(DataChange.Kind.UPDATED, c));
+                }
+            }
+            return c;
+        } finally {
+            cache.invalidate();
+        }
     }
 
     private Category insert(Category c) throws SQLException {
         String sql = "INSERT INTO categories(name, created_by) VALUES(?,?)";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, c.getName());
-            if (c.getCreatedBy() > 0) {
-                ps.setLong(2, c.getCreatedBy());
+        c.setId(Inserts.insert(sql, c, (ps, row) -> {
+            ps.setString(1, row.getName());
+            if (row.getCreatedBy() > 0) {
+                ps.setLong(2, row.getCreatedBy());
             } else {
                 ps.setNull(2, java.sql.Types.BIGINT);
             }
-            ps.executeUpdate();
-            // Get the last inserted ID for SQLite
-            try (Statement stmt = conn.createStatement(); 
-                 ResultSet rs = stmt.executeQuery("SELECT last_insert_rowid()")) {
-                if (rs.next()) c.setId(rs.getLong(1));
-            }
-        }
+        }));
         return c;
     }
 
-    private void update(Category c) throws SQLException {
+    private int update(Category c) throws SQLException {
         String sql = "UPDATE categories SET name=?, created_by=? WHERE id=?";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+        db.writeLock().lock();
+        try {
+            PreparedStatement ps = db.prepareWrite(sql);
             ps.setString(1, c.getName());
             if (c.getCreatedBy() > 0) {
                 ps.setLong(2, c.getCreatedBy());
@@ -47,38 +53,57 @@ public class CategoryDao {
                 ps.setNull(2, java.sql.Types.BIGINT);
             }
             ps.setLong(3, c.getId());
-            ps.executeUpdate();
+            return ps.executeUpdate();
+        } finally {
+            db.writeLock().unlock();
         }
     }
 
     public void delete(long id) throws SQLException {
-        try (PreparedStatement ps = conn.prepareStatement("DELETE FROM categories WHERE id=?")) {
+        db.writeLock().lock();
+        try {
+            PreparedStatement ps = db.prepareWrite("DELETE FROM categories WHERE id=?");
             ps.setLong(1, id);
-            ps.executeUpdate();
+            if (ps.executeUpdate() > 0) {
+                DataChangeBus.getInstance().publish(DataChange.category(DataChange.Kind.DELETED, id, 0));
+            }
+        } finally {
+            db.writeLock().unlock();
+            cache.invalidate();
         }
     }
 
+    /**
+     * Served from {@link CategoryCache}; only the first call after a write touches SQLite.
+     */
     public Category findById(long id) throws SQLException {
-        String sql = "SELECT id, name, created_by FROM categories WHERE id=?";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setLong(1, id);
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    Category c = new Category();
-                    c.setId(rs.getLong("id"));
-                    c.setName(rs.getString("name"));
-                    c.setCreatedBy(rs.getLong("created_by"));
-                    return c;
-                }
-            }
-        }
-        return null;
+        return cache.byId(id, this::loadAll);
     }
 
+    public Category findByName(String name) throws SQLException {
+        if (name == null) return null;
+        return cache.byName(name, this::loadAll);
+    }
+
+    /**
+     * All categories ordered by name, served from {@link CategoryCache}.
+     */
     public List<Category> findAll() throws SQLException {
+        return cache.all(this::loadAll);
+    }
+
+    /**
+     * Hit/miss counters of the shared category cache, e.g. "hits=120 misses=2".
+     */
+    public static String cacheStats() {
+        CategoryCache cache = CategoryCache.getInstance();
+        return "hits=" + cache.getHits() + " misses=" + cache.getMisses();
+    }
+
+    private List<Category> loadAll() throws SQLException {
         List<Category> list = new ArrayList<>();
         String sql = "SELECT id, name, created_by FROM categories ORDER BY name";
-        try (Statement s = conn.createStatement(); ResultSet rs = s.executeQuery(sql)) {
+        try (Connection rc = db.getReadConnection(); Statement s = rc.createStatement(); ResultSet rs = s.executeQuery(sql)) {
             while (rs.next()) {
                 Category c = new Category();
                 c.setId(rs.getLong("id"));
@@ -91,16 +116,7 @@ public class CategoryDao {
     }
 
     public boolean isCategoryNameExists(String name, long excludeId) throws SQLException {
-        String sql = "SELECT COUNT(*) FROM categories WHERE name = ? AND id != ?";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, name);
-            ps.setLong(2, excludeId);
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    return rs.getInt(1) > 0;
-                }
-            }
-        }
-        return false;
+        Category existing = findByName(name);
+        return existing != null && existing.getId() != excludeId;
     }
 }
@@ -0,0 +1,90 @@
+package com.doable.dao;
+
+import com.doable.model.Assignment;
+import com.doable.model.Category;
+import com.doable.model.Task;
+import com.doable.model.User;
+
+/**
+ * One committed write, as published on the {@link DataChangeBus} by the DAO that made it.
+ * Besides the row id it carries the ids a view filters on: the task an assignment belongs to,
+ * the assigned employee, and the owner (task creator, assigning manager, category or user creator).
+ * 0 means unknown or "many rows", so a listener that filters on it must treat 0 as a match.
+ */
+public final class DataChange {
+    public enum Entity { TASK, ASSIGNMENT, CATEGORY, USER }
+    public enum Kind { CREATED, UPDATED, DELETED }
+
+    private final Entity entity;
+    private final Kind kind;
+    private final long id;
+    private final long taskId;
+    private final long employeeId;
+    private final long ownerId;
+
+    private DataChange(Entity entity, Kind kind, long id, long taskId, long employeeId, long ownerId) {
+        this.entity = entity;
+        this.kind = kind;
+        this.id = id;
+        this.taskId = taskId;
+        this.employeeId = employeeId;
+        this.ownerId = ownerId;
+    }
+
+    static DataChange task(Kind kind, long taskId, long createdBy) {
+        return new DataChange(Entity.TASK, kind, taskId, taskId, 0, createdBy);
+    }
+
+    static DataChange task(Kind kind, Task t) {
+        return task(kind, t.getId(), t.getCreatedBy());
+    }
+
+    static DataChange assignment(Kind kind, long id, long taskId, long employeeId, long assignedBy) {
+        return new DataChange(Entity.ASSIGNMENT, kind, id, taskId, employeeId, assignedBy);
+    }
+
+    static DataChange assignment(Kind kind, Assignment a) {
+        return assignment(kind, a.getId(), a.getTaskId(), a.getEmployeeId(), a.getAssignedBy());
+    }
+
+    static DataChange category(Kind kind, long id, long createdBy) {
+        return new DataChange(Entity.CATEGORY, kind, id, 0, 0, createdBy);
+    }
+
+    static DataChange category(Kind kind, Category c) {
+        return category(kind, c.getId(), c.getCreatedBy());
+    }
+
+    static DataChange user(Kind kind, long id, long createdBy) {
+        return new DataChange(Entity.USER, kind, id, 0, 0, createdBy);
+    }
+
+    static DataChange user(Kind kind, User u) {
+        return user(kind, u.getId(), u.getCreatedBy());
+    }
+
+    public Entity getEntity() { return entity; }
+    public Kind getKind() { return kind; }
+    public long getId() { return id; }
+    public long getTaskId() { return taskId; }
+    public long getEmployeeId() { return employeeId; }
+    public long getOwnerId() { return ownerId; }
+
+    /**
+     * True when the write touched many (or unknown) rows, e.g. completeOverdue.
+     */
+    public boolean isBulk() { return id == 0; }
+
+    public boolean concernsEmployee(long employeeId) {
+        return this.employeeId == 0 || this.employeeId == employeeId;
+    }
+
+    public boolean concernsOwner(long ownerId) {
+        return this.ownerId == 0 || this.ownerId == ownerId;
+    }
+
+    @Override
+    public String toString() {
+        return entity + " " + kind + " id=" + id + " task=" + taskId + " employee=" + employeeId + " owner=" + ownerId;
+    }
+}
@@ -0,0 +1,72 @@
+package com.doable.dao;
+
+import javafx.application.Platform;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-process notification of committed writes, so every open view can patch the rows a change
+ * affects instead of re-querying everything or missing changes made from another window.
+ *
+ * DAOs publish from whatever thread did the write. Changes are queued and handed to listeners in
+ * one batch per FX pulse on the FX thread, so a bulk write costs each view one refresh.
+ * With no listeners publishing does nothing; without a running FX toolkit (tools, tests, or
+ * after shutdown) listeners are called on the publishing thread instead.
+ * A write has already committed when its change is published, so publishing never throws.
+ */
+public final class DataChangeBus {
+    @FunctionalInterface
+    public interface Listener {
+        void onChanges(List<DataChange> changes);
+    }
+
+    private static final DataChangeBus INSTANCE = new DataChangeBus();
+
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final List<DataChange> pending = new ArrayList<>();
+    private boolean flushScheduled;
+
+    private DataChangeBus() {}
+
+    public static DataChangeBus getInstance() { return INSTANCE; }
+
+    /**
+     * Register a listener; run the returned handle to unregister it (e.g. on logout).
+     */
+    public Runnable subscribe(Listener listener) {
+        listeners.add(listener);
+        return () -> listeners.remove(listener);
+    }
+
+    void publish(DataChange change) {
+        if (listeners.isEmpty()) return;
+        synchronized (pending) {
+            pending.add(change);
+            if (flushScheduled) return;
+            flushScheduled = true;
+        }
+        try {
+            Platform.runLater(this::flush);
+        } catch (IllegalStateException e) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        List<DataChange> batch;
+        synchronized (pending) {
+            batch = List.copyOf(pending);
+            pending.clear();
+            flushScheduled = false;
+        }
+        for (Listener listener : listeners) {
+            try {
+                listener.onChanges(batch);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.doable.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import com.doable.db.Database;
+
+/**
+ * The single insert path for the DAOs. Each INSERT gets "RETURNING id" appended and runs on a
+ * statement cached on the write connection while holding the write lock, so the new id comes
+ * back from the insert itself: one statement per row, and never the id of a row some other thread
+ * inserted in between (which a follow-up SELECT last_insert_rowid() could return).
+ */
+final class Inserts {
+    @FunctionalInterface
+    interface Binder<T> {
+        void bind(PreparedStatement ps, T row) throws SQLException;
+    }
+
+    private Inserts() {}
+
+    /**
+     * Insert one row and return its id (0 if an ON CONFLICT clause skipped it).
+     */
+    static <T> long insert(String sql, T row, Binder<T> binder) throws SQLException {
+        Database db = Database.getInstance();
+        db.writeLock().lock();
+        try {
+            return insertLocked(db.prepareWrite(sql + " RETURNING id"), row, binder);
+        } finally {
+            db.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Insert every row in one transaction with one compiled statement. Returns the ids in input
+     * order, 0 for rows an ON CONFLICT clause skipped. Nothing is inserted if any row fails.
+     */
+    static <T> long[] insertAll(String sql, List<T> rows, Binder<T> binder) throws SQLException {
+        long[] ids = new long[rows.size()];
+        if (rows.isEmpty()) return ids;
+        Database db = Database.getInstance();
+        Connection conn = db.getConnection();
+        db.writeLock().lock();
+        try {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try {
+                PreparedStatement ps = db.prepareWrite(sql + " RETURNING id");
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = insertLocked(ps, rows.get(i), binder);
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        } finally {
+            db.writeLock().unlock();
+        }
+        return ids;
+    }
+
+    private static <T> long insertLocked(PreparedStatement ps, T row, Binder<T> binder) throws SQLException {
+        ps.clearParameters();
+        binder.bind(ps, row);
+        try (ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+}
@@ -9,60 +9,51 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.*;
+import java.util.function.Predicate;
 
 public class ReportDao {
-    private static final String DB_URL = "jdbc:sqlite:doable.db";
+    private final Database db = Database.getInstance();
 
     /**
      * Get task reports for a specific manager
      */
     public List<TaskReport> getTaskReportsByManager(long managerId) throws SQLException {
         List<TaskReport> reports = new ArrayList<>();
-        String sql = "SELECT t.id, t.title, t.description, c.name as category, " +
-                     "t.created_date, t.due_date, t.repeat_rule, t.created_by, u.username, " +
-                     "COUNT(a.id) as total_assignments, " +
-                     "SUM(CASE WHEN a.marked_for_completion = 1 THEN 1 ELSE 0 END) as completed_assignments " +
-                     "FROM tasks t " +
-                     "LEFT JOIN categories c ON t.category_id = c.id " +
-                     "LEFT JOIN users u ON t.created_by = u.id " +
-                     "LEFT JOIN assignments a ON t.id = a.task_id " +
+        streamTaskReportsByManager(managerId, reports::add);
+        return reports;
+    }
+
+    /**
+     * Stream a manager's task reports straight off the cursor, for exports that should not hold
+     * every row in memory. The handler returns false to stop early (e.g. when cancelled).
+     */
+    public void streamTaskReportsByManager(long managerId, Predicate<TaskReport> handler) throws SQLException {
+        String sql = TASK_REPORT_SELECT +
                      "WHERE t.created_by = ? " +
-                     "GROUP BY t.id " +
                      "ORDER BY t.created_date DESC";
 
-        try (Connection conn = DriverManager.getConnection(DB_URL);
+        try (Connection conn = db.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setLong(1, managerId);
-            ResultSet rs = stmt.executeQuery();
-
-            while (rs.next()) {
-                long taskId = rs.getLong("id");
-                String title = rs.getString("title");
-                String description = rs.getString("description");
-                String category = rs.getString("category") != null ? rs.getString("category") : "Uncategorized";
-                
-                long createdDateMs = rs.getLong("created_date");
-                LocalDateTime createdDate = createdDateMs > 0 ? 
-                    LocalDateTime.ofInstant(Instant.ofEpochMilli(createdDateMs), ZoneId.systemDefault()) : null;
-                
-                long dueDateMs = rs.getLong("due_date");
-                LocalDateTime dueDate = dueDateMs > 0 ? 
-                    LocalDateTime.ofInstant(Instant.ofEpochMilli(dueDateMs), ZoneId.systemDefault()) : null;
-                
-                String repeatRule = rs.getString("repeat_rule");
-                long createdBy = rs.getLong("created_by");
-                String createdByName = rs.getString("username");
-                int totalAssignments = rs.getInt("total_assignments");
-                int completedAssignments = rs.getInt("completed_assignments");
-
-                TaskReport report = new TaskReport(taskId, title, description, category,
-                        createdDate, dueDate, repeatRule, createdBy, createdByName,
-                        totalAssignments, completedAssignments);
-                reports.add(report);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    if (!handler.test(mapTaskReport(rs))) break;
+                }
             }
         }
+    }
 
-        return reports;
+    /**
+     * Number of rows streamTaskReportsByManager will produce, read from the summary table.
+     */
+    public int countTaskReportsByManager(long managerId) throws SQLException {
+        try (Connection conn = db.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement("SELECT total_tasks FROM report_manager_summary WHERE manager_id = ?")) {
+            stmt.setLong(1, managerId);
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
     }
 
     /**
@@ -70,141 +61,151 @@ public class ReportDao {
      */
     public List<TaskReport> getAllTaskReports() throws SQLException {
         List<TaskReport> reports = new ArrayList<>();
-        String sql = "SELECT t.id, t.title, t.description, c.name as category, " +
-                     "t.created_date, t.due_date, t.repeat_rule, t.created_by, u.username, " +
-                     "COUNT(a.id) as total_assignments, " +
-                     "SUM(CASE WHEN a.marked_for_completion = 1 THEN 1 ELSE 0 END) as completed_assignments " +
-                     "FROM tasks t " +
-                     "LEFT JOIN categories c ON t.category_id = c.id " +
-                     "LEFT JOIN users u ON t.created_by = u.id " +
-                     "LEFT JOIN assignments a ON t.id = a.task_id " +
-                     "GROUP BY t.id " +
+        String sql = TASK_REPORT_SELECT +
                      "ORDER BY t.created_date DESC";
 
-        try (Connection conn = DriverManager.getConnection(DB_URL);
+        try (Connection conn = db.getReadConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
-
             while (rs.next()) {
-                long taskId = rs.getLong("id");
-                String title = rs.getString("title");
-                String description = rs.getString("description");
-                String category = rs.getString("category") != null ? rs.getString("category") : "Uncategorized";
-                
-                long createdDateMs = rs.getLong("created_date");
-                LocalDateTime createdDate = createdDateMs > 0 ? 
-                    LocalDateTime.ofInstant(Instant.ofEpochMilli(createdDateMs), ZoneId.systemDefault()) : null;
-                
-                long dueDateMs = rs.getLong("due_date");
-                LocalDateTime dueDate = dueDateMs > 0 ? 
-                    LocalDateTime.ofInstant(Instant.ofEpochMilli(dueDateMs), ZoneId.systemDefault()) : null;
-                
-                String repeatRule = rs.getString("repeat_rule");
-                long createdBy = rs.getLong("created_by");
-                String createdByName = rs.getString("username");
-                int totalAssignments = rs.getInt("total_assignments");
-                int completedAssignments = rs.getInt("completed_assignments");
-
-                TaskReport report = new TaskReport(taskId, title, description, category,
-                        createdDate, dueDate, repeatRule, createdBy, createdByName,
-                        totalAssignments, completedAssignments);
-                reports.add(report);
+                reports.add(mapTaskReport(rs));
             }
         }
 
         return reports;
     }
 
+    private static final String TASK_REPORT_SELECT =
+            "SELECT t.id, t.title, t.description, c.name as category, " +
+            "t.created_date, t.due_date, t.repeat_rule, t.created_by, u.username, " +
+            "COALESCE(rs.total_assignments, 0) as total_assignments, " +
+            "COALESCE(rs.completed_assignments, 0) as completed_assignments " +
+            "FROM tasks t " +
+            "LEFT JOIN categories c ON t.category_id = c.id " +
+            "LEFT JOIN users u ON t.created_by = u.id " +
+            "LEFT JOIN report_task_summary rs ON rs.task_id = t.id ";
+
+    private TaskReport mapTaskReport(ResultSet rs) throws SQLException {
+        long taskId = rs.getLong("id");
+        String title = rs.getString("title");
+        String description = rs.getString("description");
+        String category = rs.getString("category") != null ? rs.getString("category") : "Uncategorized";
+
+        long createdDateMs = rs.getLong("created_date");
+        LocalDateTime createdDate = createdDateMs > 0 ?
+            LocalDateTime.ofInstant(Instant.ofEpochMilli(createdDateMs), ZoneId.systemDefault()) : null;
+
+        LocalDateTime dueDate = Database.fromEpochMillis(rs, "due_date");
+
+        String repeatRule = rs.getString("repeat_rule");
+        long createdBy = rs.getLong("created_by");
+        String createdByName = rs.getString("username");
+        int totalAssignments = rs.getInt("total_assignments");
+        int completedAssignments = rs.getInt("completed_assignments");
+
+        return new TaskReport(taskId, title, description, category,
+                createdDate, dueDate, repeatRule, createdBy, createdByName,
+                totalAssignments, completedAssignments);
+    }
+
+    /**
+     * Manager report query over report_manager_summary (see com.doable.db.ReportSummaries), one
+     * primary-key lookup per manager. Last activity is the newer of the manager's latest action
+     * log and latest task creation. With forOneManager a single manager id is bound.
+     */
+    static String managerReportSql(boolean forOneManager) {
+        return "SELECT u.id, u.username, " +
+               "COALESCE(s.total_tasks, 0) AS total_tasks_created, " +
+               "COALESCE(s.total_assignments, 0) AS total_assignments, " +
+               "COALESCE(s.completed_assignments, 0) AS completed_assignments, " +
+               "COALESCE(s.total_assignments - s.completed_assignments, 0) AS pending_assignments, " +
+               "COALESCE(s.total_employees, 0) AS total_employees, " +
+               "MAX(COALESCE(s.last_action, 0), COALESCE(s.last_task_created, 0)) AS last_activity " +
+               "FROM users u " +
+               "LEFT JOIN report_manager_summary s ON s.manager_id = u.id " +
+               (forOneManager
+                   ? "WHERE u.id = ? AND u.role = 'MANAGER'"
+                   : "WHERE u.role = 'MANAGER' ORDER BY total_tasks_created DESC");
+    }
+
     /**
      * Get manager reports for all managers (for admin)
      */
     public List<ManagerReport> getManagerReports() throws SQLException {
         List<ManagerReport> reports = new ArrayList<>();
-        String sql = "SELECT " +
-                     "u.id, u.username, " +
-                     "COUNT(DISTINCT t.id) as total_tasks_created, " +
-                     "COUNT(DISTINCT a.id) as total_assignments, " +
-                     "SUM(CASE WHEN a.marked_for_completion = 1 THEN 1 ELSE 0 END) as completed_assignments, " +
-                     "SUM(CASE WHEN a.marked_for_completion = 0 THEN 1 ELSE 0 END) as pending_assignments, " +
-                     "COUNT(DISTINCT a.employee_id) as total_employees, " +
-                     "MAX(COALESCE(al.timestamp, t.created_date)) as last_activity " +
-                     "FROM users u " +
-                     "LEFT JOIN tasks t ON u.id = t.created_by " +
-                     "LEFT JOIN assignments a ON t.id = a.task_id " +
-                     "LEFT JOIN action_logs al ON u.id = al.user_id " +
-                     "WHERE u.role = 'MANAGER' " +
-                     "GROUP BY u.id, u.username " +
-                     "ORDER BY total_tasks_created DESC";
-
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+        streamManagerReports(reports::add);
+        return reports;
+    }
 
+    /**
+     * Stream every manager report off the cursor; the handler returns false to stop early.
+     */
+    public void streamManagerReports(Predicate<ManagerReport> handler) throws SQLException {
+        try (Connection conn = db.getReadConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(managerReportSql(false))) {
             while (rs.next()) {
-                long managerId = rs.getLong("id");
-                String managerName = rs.getString("username");
-                int totalTasksCreated = rs.getInt("total_tasks_created");
-                int totalAssignments = rs.getInt("total_assignments");
-                int completedAssignments = rs.getInt("completed_assignments");
-                int pendingAssignments = rs.getInt("pending_assignments");
-                int totalEmployees = rs.getInt("total_employees");
-                
-                long lastActivityMs = rs.getLong("last_activity");
-                LocalDateTime lastActivity = lastActivityMs > 0 ? 
-                    LocalDateTime.ofInstant(Instant.ofEpochMilli(lastActivityMs), ZoneId.systemDefault()) : null;
-
-                ManagerReport report = new ManagerReport(managerId, managerName, totalTasksCreated,
-                        totalAssignments, completedAssignments, pendingAssignments, totalEmployees, lastActivity);
-                reports.add(report);
+                if (!handler.test(mapManagerReport(rs))) break;
             }
         }
+    }
 
-        return reports;
+    public int countManagers() throws SQLException {
+        try (Connection conn = db.getReadConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM users WHERE role = 'MANAGER'")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
     }
 
     /**
      * Get manager report for a specific manager (for admin detail view)
      */
     public ManagerReport getManagerReport(long managerId) throws SQLException {
-        String sql = "SELECT " +
-                     "u.id, u.username, " +
-                     "COUNT(DISTINCT t.id) as total_tasks_created, " +
-                     "COUNT(DISTINCT a.id) as total_assignments, " +
-                     "SUM(CASE WHEN a.marked_for_completion = 1 THEN 1 ELSE 0 END) as completed_assignments, " +
-                     "SUM(CASE WHEN a.marked_for_completion = 0 THEN 1 ELSE 0 END) as pending_assignments, " +
-                     "COUNT(DISTINCT a.employee_id) as total_employees, " +
-                     "MAX(COALESCE(al.timestamp, t.created_date)) as last_activity " +
-                     "FROM users u " +
-                     "LEFT JOIN tasks t ON u.id = t.created_by " +
-                     "LEFT JOIN assignments a ON t.id = a.task_id " +
-                     "LEFT JOIN action_logs al ON u.id = al.user_id " +
-                     "WHERE u.id = ? AND u.role = 'MANAGER' " +
-                     "GROUP BY u.id, u.username";
-
-        try (Connection conn = DriverManager.getConnection(DB_URL);
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+        try (Connection conn = db.getReadConnection();
+             PreparedStatement stmt = conn.prepareStatement(managerReportSql(true))) {
             stmt.setLong(1, managerId);
-            ResultSet rs = stmt.executeQuery();
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapManagerReport(rs);
+                }
+            }
+        }
+        return null;
+    }
 
-            if (rs.next()) {
-                long id = rs.getLong("id");
-                String managerName = rs.getString("username");
-                int totalTasksCreated = rs.getInt("total_tasks_created");
-                int totalAssignments = rs.getInt("total_assignments");
-                int completedAssignments = rs.getInt("completed_assignments");
-                int pendingAssignments = rs.getInt("pending_assignments");
-                int totalEmployees = rs.getInt("total_employees");
-                
-                long lastActivityMs = rs.getLong("last_activity");
-                LocalDateTime lastActivity = lastActivityMs > 0 ? 
-                    LocalDateTime.ofInstant(Instant.ofEpochMilli(lastActivityMs), ZoneId.systemDefault()) : null;
-
-                return new ManagerReport(id, managerName, totalTasksCreated,
-                        totalAssignments, completedAssignments, pendingAssignments, totalEmployees, lastActivity);
+    /**
+     * EXPLAIN QUERY PLAN output for the all-managers report, one "detail" line per plan step.
+     * DaoBenchmark checks it at setup so a schema change cannot quietly turn the summary
+     * lookup into a scan.
+     */
+    public List<String> explainManagerReportsPlan() throws SQLException {
+        List<String> plan = new ArrayList<>();
+        try (Connection conn = db.getReadConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("EXPLAIN QUERY PLAN " + managerReportSql(false))) {
+            while (rs.next()) {
+                plan.add(rs.getString("detail"));
             }
         }
+        return plan;
+    }
 
-        return null;
+    private ManagerReport mapManagerReport(ResultSet rs) throws SQLException {
+        long managerId = rs.getLong("id");
+        String managerName = rs.getString("username");
+        int totalTasksCreated = rs.getInt("total_tasks_created");
+        int totalAssignments = rs.getInt("total_assignments");
+        int completedAssignments = rs.getInt("completed_assignments");
+        int pendingAssignments = rs.getInt("pending_assignments");
+        int totalEmployees = rs.getInt("total_employees");
+
+        long lastActivityMs = rs.getLong("last_activity");
+        LocalDateTime lastActivity = lastActivityMs > 0 ?
+            LocalDateTime.ofInstant(Instant.ofEpochMilli(lastActivityMs), ZoneId.systemDefault()) : null;
+
+        return new ManagerReport(managerId, managerName, totalTasksCreated,
+                totalAssignments, completedAssignments, pendingAssignments, totalEmployees, lastActivity);
     }
 
     /**
@@ -213,16 +214,15 @@ public class ReportDao {
     public Map<String, Object> getTaskStatistics(long managerId) throws SQLException {
         Map<String, Object> stats = new HashMap<>();
         String sql = "SELECT " +
-                     "COUNT(DISTINCT t.id) as total_tasks, " +
-                     "COUNT(DISTINCT a.id) as total_assignments, " +
-                     "SUM(CASE WHEN a.marked_for_completion = 1 THEN 1 ELSE 0 END) as completed, " +
-                     "SUM(CASE WHEN a.marked_for_completion = 0 THEN 1 ELSE 0 END) as pending, " +
-                     "COUNT(DISTINCT CASE WHEN a.marked_for_completion = 1 THEN a.employee_id END) as employees_completed " +
-                     "FROM tasks t " +
-                     "LEFT JOIN assignments a ON t.id = a.task_id " +
-                     "WHERE t.created_by = ?";
-
-        try (Connection conn = DriverManager.getConnection(DB_URL);
+                     "total_tasks, " +
+                     "total_assignments, " +
+                     "completed_assignments as completed, " +
+                     "total_assignments - completed_assignments as pending, " +
+                     "employees_completed " +
+                     "FROM report_manager_summary " +
+                     "WHERE manager_id = ?";
+
+        try (Connection conn = db.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setLong(1, managerId);
             ResultSet rs = stmt.executeQuery();
@@ -244,14 +244,14 @@ public class ReportDao {
      */
     public Map<String, Integer> getCategoryBreakdown(long managerId) throws SQLException {
         Map<String, Integer> breakdown = new LinkedHashMap<>();
-        String sql = "SELECT COALESCE(c.name, 'Uncategorized') as category, COUNT(DISTINCT t.id) as count " +
-                     "FROM tasks t " +
-                     "LEFT JOIN categories c ON t.category_id = c.id " +
-                     "WHERE t.created_by = ? " +
+        String sql = "SELECT COALESCE(c.name, 'Uncategorized') as category, SUM(s.task_count) as count " +
+                     "FROM report_category_summary s " +
+                     "LEFT JOIN categories c ON s.category_id = c.id " +
+                     "WHERE s.manager_id = ? AND s.task_count > 0 " +
                      "GROUP BY c.id, c.name " +
                      "ORDER BY count DESC";
 
-        try (Connection conn = DriverManager.getConnection(DB_URL);
+        try (Connection conn = db.getReadConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
             stmt.setLong(1, managerId);
             ResultSet rs = stmt.executeQuery();
@@ -263,4 +263,11 @@ public class ReportDao {
 
         return breakdown;
     }
+
+    /**
+     * Recompute the report summary tables from the raw rows.
+     */
+    public void rebuildSummaries() throws SQLException {
+        db.rebuildReportSummaries();
+    }
 }
@@ -0,0 +1,71 @@
+package com.doable.dao;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps result rows by column position. The mapper names the columns it needs; their positions are
+ * resolved once per result set (not once per row and column), and the Reader gets them as an
+ * int[] in the same order. Any SELECT that carries those labels can share the mapper.
+ *
+ * <pre>
+ * static final RowMapper&lt;Category&gt; CATEGORY = new RowMapper&lt;&gt;(
+ *         (rs, col) -&gt; new Category(rs.getLong(col[0]), rs.getString(col[1])), "id", "name");
+ * </pre>
+ */
+final class RowMapper<T> {
+    @FunctionalInterface
+    interface Reader<T> {
+        T read(ResultSet rs, int[] col) throws SQLException;
+    }
+
+    private final Reader<T> reader;
+    private final String[] columns;
+
+    RowMapper(Reader<T> reader, String... columns) {
+        this.reader = reader;
+        this.columns = columns;
+    }
+
+    int[] resolve(ResultSet rs) throws SQLException {
+        int[] col = new int[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            col[i] = rs.findColumn(columns[i]);
+        }
+        return col;
+    }
+
+    T read(ResultSet rs, int[] col) throws SQLException {
+        return reader.read(rs, col);
+    }
+
+    /**
+     * Run the (already bound) statement and append every row to out.
+     */
+    List<T> list(PreparedStatement ps, List<T> out) throws SQLException {
+        try (ResultSet rs = ps.executeQuery()) {
+            int[] col = null;
+            while (rs.next()) {
+                if (col == null) col = resolve(rs);
+                out.add(reader.read(rs, col));
+            }
+        }
+        return out;
+    }
+
+    List<T> list(PreparedStatement ps) throws SQLException {
+        return list(ps, new ArrayList<>());
+    }
+
+    /**
+     * The first row, or null.
+     */
+    T first(PreparedStatement ps) throws SQLException {
+        try (ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? reader.read(rs, resolve(rs)) : null;
+        }
+    }
+}
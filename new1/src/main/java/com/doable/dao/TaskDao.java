@@ -1,136 +1,173 @@
 package com.doable.dao;
 
 import java.sql.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import com.doable.db.Database;
 import com.doable.model.Task;
+import com.doable.util.ReminderScheduler;
 
 public class TaskDao {
-    private final Connection conn;
+    private static final Map<Task.Field, String> COLUMNS = new EnumMap<>(Task.Field.class);
+    static {
+        COLUMNS.put(Task.Field.TITLE, "title");
+        COLUMNS.put(Task.Field.DESCRIPTION, "description");
+        COLUMNS.put(Task.Field.DUE_DATE, "due_date");
+        COLUMNS.put(Task.Field.COMPLETED, "completed");
+        COLUMNS.put(Task.Field.REPEAT_RULE, "repeat_rule");
+        COLUMNS.put(Task.Field.CATEGORY_ID, "category_id");
+        COLUMNS.put(Task.Field.MARKED_FOR_COMPLETION, "marked_for_completion");
+        COLUMNS.put(Task.Field.USER_ID, "user_id");
+        COLUMNS.put(Task.Field.CREATED_BY, "created_by");
+        COLUMNS.put(Task.Field.ASSIGNMENT_TYPE, "assignment_type");
+    }
+    private static final Map<Set<Task.Field>, String> UPDATE_SQL = new ConcurrentHashMap<>();
+
+    private static final String TASK_SELECT =
+            "SELECT t.id, t.title, t.description, t.due_date, t.completed, t.repeat_rule, t.category_id, t.marked_for_completion, t.user_id, t.created_by, t.assignment_type, c.name " +
+            "FROM tasks t LEFT JOIN categories c ON t.category_id = c.id ";
 
-    public TaskDao() { this.conn = Database.getInstance().getConnection(); }
+    // Shared by every task query; the labels are resolved to positions once per result set
+    static final RowMapper<Task> TASK = new RowMapper<>(TaskDao::mapTask,
+            "id", "title", "description", "due_date", "completed", "repeat_rule", "category_id",
+            "marked_for_completion", "user_id", "created_by", "assignment_type", "name");
+
+    private final Database db = Database.getInstance();
 
     public Task save(Task t) throws SQLException {
-        if (t.getId() == 0) return insert(t);
-        update(t);
+        if (t.getId() == 0) {
+            insert(t);
+            DataChangeBus.getInstance().publish(DataChange.task(DataChange.Kind.CREATED, t));
+        } else if (update(t)) {
+            DataChangeBus.getInstance().publish(DataChange.task(DataChange.Kind.UPDATED, t));
+        } else {
+            return t;
+        }
+        ReminderScheduler.getInstance().taskSaved(t);
         return t;
     }
 
     private Task insert(Task t) throws SQLException {
         System.out.println("DEBUG TaskDao.insert: Inserting task - title=" + t.getTitle() + ", userId=" + t.getUserId() + ", createdBy=" + t.getCreatedBy() + ", assignmentType=" + t.getAssignmentType());
-        String sql = "INSERT INTO tasks(title, description, due, completed, repeat_rule, category_id, marked_for_completion, user_id, created_by, assignment_type) VALUES(?,?,?,?,?,?,?,?,?,?)";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, t.getTitle());
-            ps.setString(2, t.getDescription());
-            ps.setString(3, Database.getInstance().toString(t.getDueDate()));
-            ps.setInt(4, t.isCompleted() ? 1 : 0);
-            ps.setString(5, t.getRepeatRule());
-            if (t.getCategoryId() > 0) {
-                ps.setLong(6, t.getCategoryId());
-            } else {
-                ps.setNull(6, Types.BIGINT);
+        String sql = "INSERT INTO tasks(title, description, due_date, completed, repeat_rule, category_id, marked_for_completion, user_id, created_by, assignment_type) VALUES(?,?,?,?,?,?,?,?,?,?)";
+        System.out.println("DEBUG: Setting userId=" + (t.getUserId() > 0 ? t.getUserId() : "NULL"));
+        t.setId(Inserts.insert(sql, t, (ps, task) -> {
+            int i = 1;
+            for (Task.Field field : Task.Field.values()) {
+                bindField(ps, i++, task, field);
             }
-            ps.setInt(7, t.isMarkedForCompletion() ? 1 : 0);
-            if (t.getUserId() > 0) {
-                ps.setLong(8, t.getUserId());
-                System.out.println("DEBUG: Setting userId=" + t.getUserId());
-            } else {
-                ps.setNull(8, Types.BIGINT);
-                System.out.println("DEBUG: Setting userId to NULL");
-            }
-            if (t.getCreatedBy() > 0) {
-                ps.setLong(9, t.getCreatedBy());
-            } else {
-                ps.setNull(9, Types.BIGINT);
-            }
-            ps.setString(10, t.getAssignmentType() != null ? t.getAssignmentType() : "PERSONAL");
-            ps.executeUpdate();
-            // Get the last inserted ID for SQLite
-            try (Statement stmt = conn.createStatement(); 
-                 ResultSet rs = stmt.executeQuery("SELECT last_insert_rowid()")) {
-                if (rs.next()) t.setId(rs.getLong(1));
-            }
-        }
+        }));
+        t.markClean();
         return t;
     }
 
-    private void update(Task t) throws SQLException {
-        String sql = "UPDATE tasks SET title=?, description=?, due=?, completed=?, repeat_rule=?, category_id=?, marked_for_completion=?, user_id=?, created_by=?, assignment_type=? WHERE id=?";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, t.getTitle());
-            ps.setString(2, t.getDescription());
-            ps.setString(3, Database.getInstance().toString(t.getDueDate()));
-            ps.setInt(4, t.isCompleted() ? 1 : 0);
-            ps.setString(5, t.getRepeatRule());
-            if (t.getCategoryId() > 0) {
-                ps.setLong(6, t.getCategoryId());
-            } else {
-                ps.setNull(6, Types.BIGINT);
+    /**
+     * Write only the columns changed since the task was loaded (all of them for a Task that was
+     * built by hand). There is one cached statement per combination of changed columns, so the
+     * reminder thread's "completed = 1" reuses the same compiled UPDATE every time.
+     * Returns false if nothing had changed or the task no longer exists; the task then stays dirty.
+     */
+    private boolean update(Task t) throws SQLException {
+        Set<Task.Field> fields = t.getDirtyFields();
+        if (fields.isEmpty()) return false;
+        String sql = UPDATE_SQL.computeIfAbsent(fields, TaskDao::updateSql);
+        db.writeLock().lock();
+        try {
+            PreparedStatement ps = db.prepareWrite(sql);
+            int i = 1;
+            for (Task.Field field : fields) {
+                bindField(ps, i++, t, field);
             }
-            ps.setInt(7, t.isMarkedForCompletion() ? 1 : 0);
-            if (t.getUserId() > 0) {
-                ps.setLong(8, t.getUserId());
-            } else {
-                ps.setNull(8, Types.BIGINT);
-            }
-            if (t.getCreatedBy() > 0) {
-                ps.setLong(9, t.getCreatedBy());
-            } else {
-                ps.setNull(9, Types.BIGINT);
-            }
-            ps.setString(10, t.getAssignmentType() != null ? t.getAssignmentType() : "PERSONAL");
-            ps.setLong(11, t.getId());
-            ps.executeUpdate();
+            ps.setLong(i, t.getId());
+            if (ps.executeUpdate() == 0) return false;
+        } finally {
+            db.writeLock().unlock();
+        }
+        t.markClean();
+        return true;
+    }
+
+    private static String updateSql(Set<Task.Field> fields) {
+        StringBuilder sql = new StringBuilder("UPDATE tasks SET ");
+        for (Task.Field field : fields) {
+            sql.append(COLUMNS.get(field)).append("=?, ");
+        }
+        sql.setLength(sql.length() - 2);
+        return sql.append(" WHERE id=?").toString();
+    }
+
+    private static void bindField(PreparedStatement ps, int index, Task t, Task.Field field) throws SQLException {
+        switch (field) {
+            case TITLE: ps.setString(index, t.getTitle()); break;
+            case DESCRIPTION: ps.setString(index, t.getDescription()); break;
+            case DUE_DATE: ps.setObject(index, Database.toEpochMillis(t.getDueDate())); break;
+            case COMPLETED: ps.setInt(index, t.isCompleted() ? 1 : 0); break;
+            case REPEAT_RULE: ps.setString(index, t.getRepeatRule()); break;
+            case CATEGORY_ID: setIdOrNull(ps, index, t.getCategoryId()); break;
+            case MARKED_FOR_COMPLETION: ps.setInt(index, t.isMarkedForCompletion() ? 1 : 0); break;
+            case USER_ID: setIdOrNull(ps, index, t.getUserId()); break;
+            case CREATED_BY: setIdOrNull(ps, index, t.getCreatedBy()); break;
+            case ASSIGNMENT_TYPE: ps.setString(index, t.getAssignmentType() != null ? t.getAssignmentType() : "PERSONAL"); break;
+        }
+    }
+
+    private static void setIdOrNull(PreparedStatement ps, int index, long id) throws SQLException {
+        if (id > 0) {
+            ps.setLong(index, id);
+        } else {
+            ps.setNull(index, Types.BIGINT);
+        }
+    }
+
+    /**
+     * Complete every pending task due at or before the cutoff with one set-based UPDATE
+     * (a range scan of idx_tasks_due_date). Returns how many tasks were completed.
+     */
+    public int completeOverdue(LocalDateTime cutoff) throws SQLException {
+        db.writeLock().lock();
+        try {
+            PreparedStatement ps = db.prepareWrite("UPDATE tasks SET completed = 1 " +
+                    "WHERE due_date IS NOT NULL AND due_date <= ? AND completed = 0 AND marked_for_completion = 0");
+            ps.setLong(1, Database.toEpochMillis(cutoff));
+            int completed = ps.executeUpdate();
+            if (completed > 0) DataChangeBus.getInstance().publish(DataChange.task(DataChange.Kind.UPDATED, 0, 0));
+            return completed;
+        } finally {
+            db.writeLock().unlock();
         }
     }
 
     public void delete(long id) throws SQLException {
-        try (PreparedStatement ps = conn.prepareStatement("DELETE FROM tasks WHERE id=?")) {
+        // RETURNING hands the creator to the change event without a lookup first
+        db.writeLock().lock();
+        try {
+            PreparedStatement ps = db.prepareWrite("DELETE FROM tasks WHERE id=? RETURNING created_by");
             ps.setLong(1, id);
-            ps.executeUpdate();
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) DataChangeBus.getInstance().publish(DataChange.task(DataChange.Kind.DELETED, id, rs.getLong(1)));
+            }
+        } finally {
+            db.writeLock().unlock();
         }
+        ReminderScheduler.getInstance().taskDeleted(id);
     }
 
     public List<Task> findAll() throws SQLException {
-        List<Task> list = new ArrayList<>();
-        String sql = "SELECT t.id, t.title, t.description, t.due, t.completed, t.repeat_rule, t.category_id, t.marked_for_completion, t.user_id, t.created_by, t.assignment_type, c.name " +
-                    "FROM tasks t LEFT JOIN categories c ON t.category_id = c.id " +
-                    "ORDER BY t.due IS NULL, t.due";
-        try (Statement s = conn.createStatement(); ResultSet rs = s.executeQuery(sql)) {
-            while (rs.next()) {
-                Task t = new Task();
-                t.setId(rs.getLong("id"));
-                t.setTitle(rs.getString("title"));
-                t.setDescription(rs.getString("description"));
-                t.setDueDate(Database.getInstance().fromString(rs.getString("due")));
-                t.setCompleted(rs.getInt("completed") == 1);
-                t.setRepeatRule(rs.getString("repeat_rule"));
-                t.setMarkedForCompletion(rs.getInt("marked_for_completion") == 1);
-                long userId = rs.getLong("user_id");
-                if (userId > 0) {
-                    t.setUserId(userId);
-                }
-                long createdBy = rs.getLong("created_by");
-                if (createdBy > 0) {
-                    t.setCreatedBy(createdBy);
-                }
-                t.setAssignmentType(rs.getString("assignment_type"));
-                long catId = rs.getLong("category_id");
-                if (catId > 0) {
-                    t.setCategoryId(catId);
-                    t.setCategoryName(rs.getString("name"));
-                }
-                list.add(t);
-            }
+        String sql = TASK_SELECT + "ORDER BY t.due_date IS NULL, t.due_date";
+        try (Connection rc = db.getReadConnection()) {
+            return TASK.list(db.prepareRead(rc, sql));
         }
-        return list;
     }
 
     public boolean isTitleExists(String title, long excludeTaskId) throws SQLException {
         String sql = "SELECT COUNT(*) FROM tasks WHERE title = ? AND id != ?";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+        try (Connection rc = db.getReadConnection(); PreparedStatement ps = rc.prepareStatement(sql)) {
             ps.setString(1, title);
             ps.setLong(2, excludeTaskId);
             try (ResultSet rs = ps.executeQuery()) {
@@ -144,7 +181,7 @@ public class TaskDao {
 
     public boolean isTitleExists(String title) throws SQLException {
         String sql = "SELECT COUNT(*) FROM tasks WHERE title = ?";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+        try (Connection rc = db.getReadConnection(); PreparedStatement ps = rc.prepareStatement(sql)) {
             ps.setString(1, title);
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
@@ -156,117 +193,175 @@ public class TaskDao {
     }
 
     public List<Task> findByCreatedBy(long createdBy) throws SQLException {
-        List<Task> list = new ArrayList<>();
-        String sql = "SELECT t.id, t.title, t.description, t.due, t.completed, t.repeat_rule, t.category_id, t.marked_for_completion, t.user_id, t.created_by, t.assignment_type, c.name " +
-                    "FROM tasks t LEFT JOIN categories c ON t.category_id = c.id " +
-                    "WHERE t.created_by = ? " +
-                    "ORDER BY t.due IS NULL, t.due";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+        String sql = TASK_SELECT + "WHERE t.created_by = ? ORDER BY t.due_date IS NULL, t.due_date";
+        try (Connection rc = db.getReadConnection()) {
+            PreparedStatement ps = db.prepareRead(rc, sql);
             ps.setLong(1, createdBy);
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    Task t = new Task();
-                    t.setId(rs.getLong("id"));
-                    t.setTitle(rs.getString("title"));
-                    t.setDescription(rs.getString("description"));
-                    t.setDueDate(Database.getInstance().fromString(rs.getString("due")));
-                    t.setCompleted(rs.getInt("completed") == 1);
-                    t.setRepeatRule(rs.getString("repeat_rule"));
-                    t.setMarkedForCompletion(rs.getInt("marked_for_completion") == 1);
-                    long userId = rs.getLong("user_id");
-                    if (userId > 0) {
-                        t.setUserId(userId);
-                    }
-                    long createdByValue = rs.getLong("created_by");
-                    if (createdByValue > 0) {
-                        t.setCreatedBy(createdByValue);
-                    }
-                    t.setAssignmentType(rs.getString("assignment_type"));
-                    long catId = rs.getLong("category_id");
-                    if (catId > 0) {
-                        t.setCategoryId(catId);
-                        t.setCategoryName(rs.getString("name"));
-                    }
-                    list.add(t);
-                }
-            }
+            return TASK.list(ps);
         }
-        return list;
     }
 
     public List<Task> findByAssignedTo(long userId) throws SQLException {
-        List<Task> list = new ArrayList<>();
-        String sql = "SELECT t.id, t.title, t.description, t.due, t.completed, t.repeat_rule, t.category_id, t.marked_for_completion, t.user_id, t.created_by, t.assignment_type, c.name " +
-                    "FROM tasks t LEFT JOIN categories c ON t.category_id = c.id " +
-                    "WHERE t.user_id = ? " +
-                    "ORDER BY t.due IS NULL, t.due";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+        String sql = TASK_SELECT + "WHERE t.user_id = ? ORDER BY t.due_date IS NULL, t.due_date";
+        try (Connection rc = db.getReadConnection()) {
+            PreparedStatement ps = db.prepareRead(rc, sql);
             ps.setLong(1, userId);
-            try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    Task t = new Task();
-                    t.setId(rs.getLong("id"));
-                    t.setTitle(rs.getString("title"));
-                    t.setDescription(rs.getString("description"));
-                    t.setDueDate(Database.getInstance().fromString(rs.getString("due")));
-                    t.setCompleted(rs.getInt("completed") == 1);
-                    t.setRepeatRule(rs.getString("repeat_rule"));
-                    t.setMarkedForCompletion(rs.getInt("marked_for_completion") == 1);
-                    long userIdValue = rs.getLong("user_id");
-                    if (userIdValue > 0) {
-                        t.setUserId(userIdValue);
-                    }
-                    long createdByValue = rs.getLong("created_by");
-                    if (createdByValue > 0) {
-                        t.setCreatedBy(createdByValue);
-                    }
-                    t.setAssignmentType(rs.getString("assignment_type"));
-                    long catId = rs.getLong("category_id");
-                    if (catId > 0) {
-                        t.setCategoryId(catId);
-                        t.setCategoryName(rs.getString("name"));
-                    }
-                    list.add(t);
-                }
-            }
+            return TASK.list(ps);
         }
-        return list;
     }
 
     public Task findById(long id) throws SQLException {
-        String sql = "SELECT t.id, t.title, t.description, t.due, t.completed, t.repeat_rule, t.category_id, t.marked_for_completion, t.user_id, t.created_by, t.assignment_type, c.name " +
-                    "FROM tasks t LEFT JOIN categories c ON t.category_id = c.id " +
-                    "WHERE t.id = ?";
-        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+        String sql = TASK_SELECT + "WHERE t.id = ?";
+        try (Connection rc = db.getReadConnection()) {
+            PreparedStatement ps = db.prepareRead(rc, sql);
             ps.setLong(1, id);
-            try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    Task t = new Task();
-                    t.setId(rs.getLong("id"));
-                    t.setTitle(rs.getString("title"));
-                    t.setDescription(rs.getString("description"));
-                    t.setDueDate(Database.getInstance().fromString(rs.getString("due")));
-                    t.setCompleted(rs.getInt("completed") == 1);
-                    t.setRepeatRule(rs.getString("repeat_rule"));
-                    t.setMarkedForCompletion(rs.getInt("marked_for_completion") == 1);
-                    long userIdValue = rs.getLong("user_id");
-                    if (userIdValue > 0) {
-                        t.setUserId(userIdValue);
-                    }
-                    long createdByValue = rs.getLong("created_by");
-                    if (createdByValue > 0) {
-                        t.setCreatedBy(createdByValue);
-                    }
-                    t.setAssignmentType(rs.getString("assignment_type"));
-                    long catId = rs.getLong("category_id");
-                    if (catId > 0) {
-                        t.setCategoryId(catId);
-                        t.setCategoryName(rs.getString("name"));
-                    }
-                    return t;
+            return TASK.first(ps);
+        }
+    }
+
+    /**
+     * Load an employee's assigned tasks in one joined query instead of findByEmployeeId + findById per row.
+     * marked_for_completion comes from the assignment, and assignmentType is MANAGER when someone
+     * other than the employee assigned it, PERSONAL otherwise.
+     */
+    public List<Task> findForEmployee(long employeeId, boolean markedForCompletion) throws SQLException {
+        return findForEmployee(TaskQuery.forEmployee(employeeId).withMarkedForCompletion(markedForCompletion));
+    }
+
+    /**
+     * An employee's assigned tasks filtered and sorted in SQL: the type test reads assigned_by from
+     * idx_assignments_employee, the overdue test compares due_date with the query's bound "now",
+     * and rows come back in {@link TaskQuery#ORDER}.
+     */
+    public List<Task> findForEmployee(TaskQuery q) throws SQLException {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT t.id, t.title, t.description, t.due_date, t.completed, t.repeat_rule, t.category_id, " +
+                    "a.marked_for_completion AS marked_for_completion, t.user_id, t.created_by, " +
+                    "CASE WHEN a.assigned_by != a.employee_id THEN 'MANAGER' ELSE 'PERSONAL' END AS assignment_type, c.name " +
+                    "FROM assignments a " +
+                    "JOIN tasks t ON t.id = a.task_id " +
+                    "LEFT JOIN categories c ON t.category_id = c.id " +
+                    "WHERE a.employee_id = ? AND a.marked_for_completion = ?");
+        params.add(q.getEmployeeId());
+        params.add(q.isMarkedForCompletion() ? 1 : 0);
+        if (q.getType() == TaskQuery.Type.MANAGER) {
+            sql.append(" AND a.assigned_by != a.employee_id");
+        } else if (q.getType() == TaskQuery.Type.PERSONAL) {
+            sql.append(" AND a.assigned_by = a.employee_id");
+        }
+        if (q.getCategoryId() != 0) {
+            sql.append(" AND t.category_id = ?");
+            params.add(q.getCategoryId());
+        }
+        if (q.getTaskId() != 0) {
+            sql.append(" AND a.task_id = ?");
+            params.add(q.getTaskId());
+        }
+        if (q.getStatus() == TaskQuery.Status.PENDING) {
+            sql.append(" AND t.completed = 0 AND (t.due_date IS NULL OR t.due_date >= ?)");
+            params.add(q.nowMillis());
+        } else if (q.getStatus() == TaskQuery.Status.COMPLETED) {
+            sql.append(" AND (t.completed = 1 OR t.due_date < ?)");
+            params.add(q.nowMillis());
+        }
+        sql.append(" ORDER BY a.assigned_by = a.employee_id, a.marked_for_completion, t.due_date IS NULL, t.due_date, t.id");
+        try (Connection rc = db.getReadConnection()) {
+            PreparedStatement ps = db.prepareRead(rc, sql.toString());
+            bind(ps, params);
+            return TASK.list(ps);
+        }
+    }
+
+    /**
+     * One keyset page of all tasks in findAll order: due date (undated last), then id.
+     * Pass the due date and id of the last task already shown, or afterId 0 for the first page.
+     * Served from idx_tasks_due_date.
+     */
+    public List<Task> findPage(LocalDateTime afterDue, long afterId, int limit) throws SQLException {
+        return findTaskPage("1=1", new ArrayList<>(), afterDue, afterId, limit);
+    }
+
+    /**
+     * Keyset page of a manager's tasks, optionally limited to one category. Each page is a range
+     * scan of idx_tasks_created_by (created_by, due_date, rowid), so later pages cost the same as the first.
+     */
+    public List<Task> findPageByCreatedBy(long createdBy, Long categoryId, LocalDateTime afterDue, long afterId, int limit) throws SQLException {
+        List<Object> params = new ArrayList<>();
+        params.add(createdBy);
+        String filter = "t.created_by = ?";
+        if (categoryId != null) {
+            filter += " AND t.category_id = ?";
+            params.add(categoryId);
+        }
+        return findTaskPage(filter, params, afterDue, afterId, limit);
+    }
+
+    // Dated tasks come first in (due, id) order, then undated ones by id. The two ranges are read
+    // separately so each stays an index range instead of a sort on "due IS NULL".
+    private List<Task> findTaskPage(String filter, List<Object> params, LocalDateTime afterDue, long afterId, int limit) throws SQLException {
+        String select = TASK_SELECT + "WHERE " + filter;
+        boolean firstPage = afterId <= 0;
+        List<Task> page = new ArrayList<>();
+        try (Connection rc = db.getReadConnection()) {
+            if (firstPage || afterDue != null) {
+                String sql = select + " AND t.due_date IS NOT NULL" +
+                        (firstPage ? "" : " AND (t.due_date > ? OR (t.due_date = ? AND t.id > ?))") +
+                        " ORDER BY t.due_date, t.id LIMIT ?";
+                PreparedStatement ps = db.prepareRead(rc, sql);
+                int i = bind(ps, params);
+                if (!firstPage) {
+                    long due = Database.toEpochMillis(afterDue);
+                    ps.setLong(i++, due);
+                    ps.setLong(i++, due);
+                    ps.setLong(i++, afterId);
                 }
+                ps.setInt(i, limit);
+                TASK.list(ps, page);
+            }
+            if (page.size() < limit) {
+                String sql = select + " AND t.due_date IS NULL AND t.id > ? ORDER BY t.id LIMIT ?";
+                PreparedStatement ps = db.prepareRead(rc, sql);
+                int i = bind(ps, params);
+                ps.setLong(i++, afterDue == null ? afterId : 0);
+                ps.setInt(i, limit - page.size());
+                TASK.list(ps, page);
             }
         }
-        return null;
+        return page;
+    }
+
+    private static int bind(PreparedStatement ps, List<Object> params) throws SQLException {
+        int i = 1;
+        for (Object param : params) {
+            ps.setObject(i++, param);
+        }
+        return i;
+    }
+
+    private static Task mapTask(ResultSet rs, int[] col) throws SQLException {
+        Task t = new Task();
+        t.setId(rs.getLong(col[0]));
+        t.setTitle(rs.getString(col[1]));
+        t.setDescription(rs.getString(col[2]));
+        t.setDueDate(Database.fromEpochMillis(rs, col[3]));
+        t.setCompleted(rs.getInt(col[4]) == 1);
+        t.setRepeatRule(rs.getString(col[5]));
+        long catId = rs.getLong(col[6]);
+        if (catId > 0) {
+            t.setCategoryId(catId);
+            t.setCategoryName(rs.getString(col[11]));
+        }
+        t.setMarkedForCompletion(rs.getInt(col[7]) == 1);
+        long userId = rs.getLong(col[8]);
+        if (userId > 0) {
+            t.setUserId(userId);
+        }
+        long createdBy = rs.getLong(col[9]);
+        if (createdBy > 0) {
+            t.setCreatedBy(createdBy);
+        }
+        t.setAssignmentType(rs.getString(col[10]));
+        t.markClean();
+        return t;
     }
 }
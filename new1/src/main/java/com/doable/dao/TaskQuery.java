@@ -0,0 +1,111 @@
+package com.doable.dao;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+import com.doable.db.Database;
+import com.doable.model.Task;
+
+/**
+ * The employee home list's filter state: task type, status and category, plus the instant
+ * "overdue" is measured against. {@link TaskDao#findForEmployee(TaskQuery)} turns it into
+ * WHERE / ORDER BY clauses; {@link #matches} and {@link #ORDER} are the same rules in memory.
+ *
+ * Immutable; the with* methods return a changed copy.
+ */
+public final class TaskQuery {
+    public enum Type { ALL, MANAGER, PERSONAL }
+
+    // PENDING: not completed and not overdue. COMPLETED: completed or overdue.
+    public enum Status { ALL, PENDING, COMPLETED }
+
+    /**
+     * Manager-assigned first, then unmarked before marked, then due date (undated last), then id.
+     */
+    public static final Comparator<Task> ORDER = Comparator
+            .comparing((Task t) -> !isManager(t))
+            .thenComparing(Task::isMarkedForCompletion)
+            .thenComparing(Task::getDueDate, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparingLong(Task::getId);
+
+    private final long employeeId;
+    private final boolean markedForCompletion;
+    private final Type type;
+    private final Status status;
+    private final long categoryId;
+    private final long taskId;
+    private final LocalDateTime now;
+
+    private TaskQuery(long employeeId, boolean markedForCompletion, Type type, Status status, long categoryId, long taskId, LocalDateTime now) {
+        this.employeeId = employeeId;
+        this.markedForCompletion = markedForCompletion;
+        this.type = type;
+        this.status = status;
+        this.categoryId = categoryId;
+        this.taskId = taskId;
+        this.now = now;
+    }
+
+    /**
+     * Every unmarked task of the employee.
+     */
+    public static TaskQuery forEmployee(long employeeId) {
+        return new TaskQuery(employeeId, false, Type.ALL, Status.ALL, 0, 0, LocalDateTime.now());
+    }
+
+    public TaskQuery withMarkedForCompletion(boolean marked) {
+        return new TaskQuery(employeeId, marked, type, status, categoryId, taskId, now);
+    }
+
+    public TaskQuery withType(Type type) {
+        return new TaskQuery(employeeId, markedForCompletion, type, status, categoryId, taskId, now);
+    }
+
+    public TaskQuery withStatus(Status status) {
+        return new TaskQuery(employeeId, markedForCompletion, type, status, categoryId, taskId, now);
+    }
+
+    /**
+     * Limit to one category; 0 for all categories.
+     */
+    public TaskQuery withCategoryId(long categoryId) {
+        return new TaskQuery(employeeId, markedForCompletion, type, status, categoryId, taskId, now);
+    }
+
+    /**
+     * Limit to one task, e.g. to re-read a single changed row; 0 for all tasks.
+     */
+    public TaskQuery withTaskId(long taskId) {
+        return new TaskQuery(employeeId, markedForCompletion, type, status, categoryId, taskId, now);
+    }
+
+    public TaskQuery withNow(LocalDateTime now) {
+        return new TaskQuery(employeeId, markedForCompletion, type, status, categoryId, taskId, now);
+    }
+
+    public long getEmployeeId() { return employeeId; }
+    public boolean isMarkedForCompletion() { return markedForCompletion; }
+    public Type getType() { return type; }
+    public Status getStatus() { return status; }
+    public long getCategoryId() { return categoryId; }
+    public long getTaskId() { return taskId; }
+    public LocalDateTime getNow() { return now; }
+
+    public long nowMillis() { return Database.toEpochMillis(now); }
+
+    /**
+     * Whether a task loaded for this employee passes the task, type, status and category filters.
+     */
+    public boolean matches(Task t) {
+        if (taskId != 0 && t.getId() != taskId) return false;
+        if (type != Type.ALL && isManager(t) != (type == Type.MANAGER)) return false;
+        if (categoryId != 0 && t.getCategoryId() != categoryId) return false;
+        if (status == Status.ALL) return true;
+        boolean done = t.isCompleted() || (t.getDueDate() != null && t.getDueDate().isBefore(now));
+        return done == (status == Status.COMPLETED);
+    }
+
+    public static boolean isManager(Task t) {
+        return "MANAGER".equals(t.getAssignmentType());
+    }
+}
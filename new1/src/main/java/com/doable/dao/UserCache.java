@@ -0,0 +1,138 @@
+package com.doable.dao;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.doable.model.User;
+
+/**
+ * Bounded identity map for users: at most one cached User per id, reachable by id or username,
+ * plus each manager's employee list built from those same instances. Entries are evicted in
+ * least-recently-used order once MAX_USERS / MAX_MANAGERS is reached.
+ *
+ * UserDao writes call {@link #invalidate}. Loads run outside the lock and are only stored if no
+ * write happened in the meantime (checked through {@link #generation()}).
+ * Callers always get copies, so editing a returned User in a dialog cannot leak into the cache.
+ */
+final class UserCache {
+    private static final int MAX_USERS = 1000;
+    private static final int MAX_MANAGERS = 64;
+
+    private static final UserCache INSTANCE = new UserCache();
+
+    private final Map<String, Long> idsByUsername = new HashMap<>();
+    private final LinkedHashMap<Long, User> usersById = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, User> eldest) {
+            if (size() <= MAX_USERS) return false;
+            idsByUsername.remove(eldest.getValue().getUsername());
+            return true;
+        }
+    };
+    private final LinkedHashMap<Long, List<User>> employeesByManager = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, List<User>> eldest) {
+            return size() > MAX_MANAGERS;
+        }
+    };
+
+    private long generation;
+    private long hits;
+    private long misses;
+
+    private UserCache() {}
+
+    static UserCache getInstance() { return INSTANCE; }
+
+    synchronized long generation() { return generation; }
+
+    synchronized User byId(long id) {
+        return count(copy(usersById.get(id)));
+    }
+
+    synchronized User byUsername(String username) {
+        Long id = idsByUsername.get(username);
+        return count(id == null ? null : copy(usersById.get(id)));
+    }
+
+    synchronized List<User> employeesOf(long managerId) {
+        List<User> employees = employeesByManager.get(managerId);
+        if (employees == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        List<User> copies = new ArrayList<>(employees.size());
+        for (User u : employees) copies.add(copy(u));
+        return copies;
+    }
+
+    synchronized void put(User user, long loadedAt) {
+        if (user != null && loadedAt == generation) canonical(user);
+    }
+
+    synchronized void putEmployees(long managerId, List<User> employees, long loadedAt) {
+        if (loadedAt != generation) return;
+        List<User> shared = new ArrayList<>(employees.size());
+        for (User u : employees) shared.add(canonical(u));
+        employeesByManager.put(managerId, shared);
+    }
+
+    /**
+     * Drop one user (0 for none) and every employee list, since a create, update or delete can
+     * change any manager's list.
+     */
+    synchronized void invalidate(long userId) {
+        generation++;
+        User removed = usersById.remove(userId);
+        if (removed != null) idsByUsername.remove(removed.getUsername());
+        employeesByManager.clear();
+    }
+
+    synchronized long getHits() { return hits; }
+    synchronized long getMisses() { return misses; }
+
+    /**
+     * The cached instance for user.getId(), refreshed from user.
+     */
+    private User canonical(User user) {
+        User cached = usersById.get(user.getId());
+        if (cached == null) {
+            cached = copy(user);
+            usersById.put(cached.getId(), cached);
+        } else {
+            idsByUsername.remove(cached.getUsername());
+            copyInto(user, cached);
+        }
+        idsByUsername.put(cached.getUsername(), cached.getId());
+        return cached;
+    }
+
+    private User count(User user) {
+        if (user != null) hits++; else misses++;
+        return user;
+    }
+
+    private static User copy(User u) {
+        if (u == null) return null;
+        User copy = new User();
+        copyInto(u, copy);
+        return copy;
+    }
+
+    private static void copyInto(User from, User to) {
+        to.setId(from.getId());
+        to.setUsername(from.getUsername());
+        to.setPassword(from.getPassword());
+        to.setEmail(from.getEmail());
+        to.setPhoneNumber(from.getPhoneNumber());
+        to.setRole(from.getRole());
+        to.setDepartment(from.getDepartment());
+        to.setJobTitle(from.getJobTitle());
+        to.setCreatedBy(from.getCreatedBy());
+        to.setCreatedAt(from.getCreatedAt());
+    }
+}
@@ -10,11 +10,12 @@ import java.util.List;
 
 public class UserDao {
     private static final Database DB = Database.getInstance();
+    private static final UserCache CACHE = UserCache.getInstance();
 
     // Authenticate user
     public static User authenticate(String username, String password) {
         String sql = "SELECT * FROM users WHERE username = ? AND password = ?";
-        try (PreparedStatement ps = DB.getConnection().prepareStatement(sql)) {
+        try (Connection c = DB.getReadConnection(); PreparedStatement ps = c.prepareStatement(sql)) {
             ps.setString(1, username);
             ps.setString(2, password);
             try (ResultSet rs = ps.executeQuery()) {
@@ -31,14 +32,19 @@ public class UserDao {
         return null;
     }
 
-    // Find user by username
+    // Find user by username (cached)
     public static User findByUsername(String username) {
+        User cached = CACHE.byUsername(username);
+        if (cached != null) return cached;
+        long generation = CACHE.generation();
         String sql = "SELECT * FROM users WHERE username = ?";
-        try (PreparedStatement ps = DB.getConnection().prepareStatement(sql)) {
+        try (Connection c = DB.getReadConnection(); PreparedStatement ps = c.prepareStatement(sql)) {
             ps.setString(1, username);
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    return mapResultSetToUser(rs);
+                    User user = mapResultSetToUser(rs);
+                    CACHE.put(user, generation);
+                    return user;
                 }
             }
         } catch (SQLException e) {
@@ -47,14 +53,19 @@ public class UserDao {
         return null;
     }
 
-    // Find user by ID
+    // Find user by ID (cached)
     public static User findById(long id) {
+        User cached = CACHE.byId(id);
+        if (cached != null) return cached;
+        long generation = CACHE.generation();
         String sql = "SELECT * FROM users WHERE id = ?";
-        try (PreparedStatement ps = DB.getConnection().prepareStatement(sql)) {
+        try (Connection c = DB.getReadConnection(); PreparedStatement ps = c.prepareStatement(sql)) {
             ps.setLong(1, id);
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    return mapResultSetToUser(rs);
+                    User user = mapResultSetToUser(rs);
+                    CACHE.put(user, generation);
+                    return user;
                 }
             }
         } catch (SQLException e) {
@@ -72,28 +83,24 @@ public class UserDao {
 
         String sql = "INSERT INTO users (username, password, email, phone_number, role, department, job_title, created_by, created_at) " +
                 "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        try (PreparedStatement ps = DB.getConnection().prepareStatement(sql)) {
-            ps.setString(1, user.getUsername());
-            ps.setString(2, user.getPassword());
-            ps.setString(3, user.getEmail());
-            ps.setString(4, user.getPhoneNumber());
-            ps.setString(5, user.getRole().name());
-            ps.setString(6, user.getDepartment());
-            ps.setString(7, user.getJobTitle());
-            ps.setLong(8, user.getCreatedBy());
-            ps.setLong(9, user.getCreatedAt());
-            ps.executeUpdate();
-
-            // Get the last inserted ID for SQLite
-            try (Statement s = DB.getConnection().createStatement();
-                 ResultSet rs = s.executeQuery("SELECT last_insert_rowid()")) {
-                if (rs.next()) {
-                    user.setId(rs.getLong(1));
-                }
-            }
+        try {
+            user.setId(Inserts.insert(sql, user, (ps, u) -> {
+                ps.setString(1, u.getUsername());
+                ps.setString(2, u.getPassword());
+                ps.setString(3, u.getEmail());
+                ps.setString(4, u.getPhoneNumber());
+                ps.setString(5, u.getRole().name());
+                ps.setString(6, u.getDepartment());
+                ps.setString(7, u.getJobTitle());
+                ps.setLong(8, u.getCreatedBy());
+                ps.setLong(9, u.getCreatedAt());
+            }));
+            DataChangeBus.getInstance().publish(DataChange.user(DataChange.Kind.CREATED, user));
         } catch (SQLException e) {
             e.printStackTrace();
             throw new RuntimeException("Error creating user: " + e.getMessage());
+        } finally {
+            CACHE.invalidate(0);
         }
         return user;
     }
@@ -121,54 +128,80 @@ public class UserDao {
         return users;
     }
 
-    // Get employees created by a specific manager
+    // Get employees created by a specific manager (cached per manager)
     public static List<User> getEmployeesByManager(long managerId) {
+        List<User> cached = CACHE.employeesOf(managerId);
+        if (cached != null) return cached;
+        long generation = CACHE.generation();
         String sql = "SELECT * FROM users WHERE role = 'EMPLOYEE' AND created_by = ?";
         List<User> users = new ArrayList<>();
-        try (PreparedStatement ps = DB.getConnection().prepareStatement(sql)) {
+        try (Connection c = DB.getReadConnection(); PreparedStatement ps = c.prepareStatement(sql)) {
             ps.setLong(1, managerId);
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
                     users.add(mapResultSetToUser(rs));
                 }
             }
+            CACHE.putEmployees(managerId, users, generation);
         } catch (SQLException e) {
             e.printStackTrace();
         }
         return users;
     }
 
+    /**
+     * Hit/miss counters of the user cache, e.g. "hits=42 misses=3".
+     */
+    public static String cacheStats() {
+        return "hits=" + CACHE.getHits() + " misses=" + CACHE.getMisses();
+    }
+
     // Update user
     public static void updateUser(User user) {
         String sql = "UPDATE users SET password = ?, email = ?, phone_number = ?, department = ?, job_title = ? WHERE id = ?";
-        try (PreparedStatement ps = DB.getConnection().prepareStatement(sql)) {
+        DB.writeLock().lock();
+        try {
+            PreparedStatement ps = DB.prepareWrite(sql);
             ps.setString(1, user.getPassword());
             ps.setString(2, user.getEmail());
             ps.setString(3, user.getPhoneNumber());
             ps.setString(4, user.getDepartment());
             ps.setString(5, user.getJobTitle());
             ps.setLong(6, user.getId());
-            ps.executeUpdate();
+            if (ps.executeUpdate() > 0) {
+                DataChangeBus.getInstance().publish(DataChange.user(DataChange.Kind.UPDATED, user));
+            }
         } catch (SQLException e) {
             e.printStackTrace();
+        } finally {
+            DB.writeLock().unlock();
+            CACHE.invalidate(user.getId());
         }
     }
 
     // Delete user
     public static void deleteUser(long id) {
         String sql = "DELETE FROM users WHERE id = ?";
-        try (PreparedStatement ps = DB.getConnection().prepareStatement(sql)) {
+        DB.writeLock().lock();
+        try {
+            PreparedStatement ps = DB.prepareWrite(sql);
             ps.setLong(1, id);
-            ps.executeUpdate();
+            if (ps.executeUpdate() > 0) {
+                DataChangeBus.getInstance().publish(DataChange.user(DataChange.Kind.DELETED, id, 0));
+            }
         } catch (SQLException e) {
             e.printStackTrace();
+        } finally {
+            DB.writeLock().unlock();
+            CACHE.invalidate(id);
         }
     }
 
     // Helper method to execute query
     private static List<User> executeQuery(String sql) {
         List<User> users = new ArrayList<>();
-        try (Statement s = DB.getConnection().createStatement();
+        try (Connection c = DB.getReadConnection();
+             Statement s = c.createStatement();
              ResultSet rs = s.executeQuery(sql)) {
             while (rs.next()) {
                 users.add(mapResultSetToUser(rs));
@@ -1,40 +1,65 @@
 package com.doable.db;
 
+import org.sqlite.SQLiteConfig;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.sql.*;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Owns the SQLite connections.
+ * There is one write connection (SQLite allows a single writer) guarded by {@link #writeLock()},
+ * and a small pool of read-only connections so report and list queries do not queue behind writes.
+ */
 public class Database {
+    // Overridable so tools and benchmarks can point the app at a scratch database
+    private static final String DB_FILE = System.getProperty("doable.db.file", "doable.db");
+    private static final String URL = "jdbc:sqlite:" + DB_FILE;
+    private static final int READ_POOL_SIZE = 4;
+    private static final int BUSY_TIMEOUT_MS = 5000;
+    private static final long BORROW_TIMEOUT_MS = 10000;
+    private static final int READ_STATEMENT_CACHE_SIZE = 64;
+
     private static Database INSTANCE;
     private Connection conn;
-    private final DateTimeFormatter fmt = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final Map<String, PreparedStatement> writeStatements = new HashMap<>(); // guarded by writeLock
+    private final Map<Connection, Map<String, PreparedStatement>> readStatements = new ConcurrentHashMap<>(); // inner map used by the lease holder only
+    private final Deque<Connection> idleReaders = new ArrayDeque<>();
+    private final List<Connection> allReaders = new ArrayList<>();
+    private final ThreadLocal<Lease> leases = new ThreadLocal<>();
+    private final StorageProfile profile = StorageProfile.fromSystemProperties();
+    private WalCheckpointer checkpointer;
 
     private Database() {}
 
-    public static Database getInstance() {
+    public static synchronized Database getInstance() {
         if (INSTANCE == null) INSTANCE = new Database();
         return INSTANCE;
     }
 
     public void init() {
         try {
-            String url = "jdbc:sqlite:doable.db";
-            conn = DriverManager.getConnection(url);
+            SQLiteConfig config = new SQLiteConfig();
+            config.setBusyTimeout(BUSY_TIMEOUT_MS);
+            profile.applyToWriter(config);
+            conn = config.createConnection(URL);
+            new SchemaMigrations(conn).migrate();
+
             try (Statement s = conn.createStatement()) {
-                // Create users table
-                s.execute("CREATE TABLE IF NOT EXISTS users (" +
-                        "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
-                        "username TEXT NOT NULL UNIQUE, " +
-                        "password TEXT NOT NULL, " +
-                        "email TEXT NOT NULL, " +
-                        "phone_number TEXT NOT NULL, " +
-                        "role TEXT NOT NULL, " +
-                        "department TEXT, " +
-                        "job_title TEXT, " +
-                        "created_by INTEGER, " +
-                        "created_at INTEGER, " +
-                        "FOREIGN KEY(created_by) REFERENCES users(id))");
-                
                 // Initialize admin user if not exists
                 try (ResultSet rs = s.executeQuery("SELECT COUNT(*) FROM users WHERE role = 'ADMIN'")) {
                     if (rs.next() && rs.getInt(1) == 0) {
@@ -43,136 +68,222 @@ public class Database {
                                 "VALUES ('admin', '123', 'admin@company.com', '0000000000', 'ADMIN', " + System.currentTimeMillis() + ")");
                     }
                 }
-                
-                // Create categories table
-                s.execute("CREATE TABLE IF NOT EXISTS categories ("+
-                        "id INTEGER PRIMARY KEY AUTOINCREMENT, "+
-                        "name TEXT NOT NULL UNIQUE, "+
-                        "created_by INTEGER, " +
-                        "FOREIGN KEY(created_by) REFERENCES users(id))");
-                
-                // Create tasks table with category_id
-                s.execute("CREATE TABLE IF NOT EXISTS tasks ("+
-                        "id INTEGER PRIMARY KEY AUTOINCREMENT, "+
-                        "title TEXT NOT NULL, "+
-                        "description TEXT, "+
-                        "due TEXT, "+
-                        "completed INTEGER DEFAULT 0, "+
-                        "repeat_rule TEXT DEFAULT 'NONE', "+
-                        "category_id INTEGER, "+
-                        "user_id INTEGER, " +
-                        "created_by INTEGER, " +
-                        "FOREIGN KEY(category_id) REFERENCES categories(id), " +
-                        "FOREIGN KEY(user_id) REFERENCES users(id), " +
-                        "FOREIGN KEY(created_by) REFERENCES users(id))");
-                
-                // Check if columns exist, if not add them
-                try (ResultSet rs = s.executeQuery("PRAGMA table_info(tasks)")) {
-                    boolean hasCategory = false;
-                    boolean hasMarkedForCompletion = false;
-                    boolean hasUserId = false;
-                    boolean hasCreatedBy = false;
-                    boolean hasAssignmentType = false;
-                    boolean hasCreatedDate = false;
-                    boolean hasDueDate = false;
-                    while (rs.next()) {
-                        if ("category_id".equals(rs.getString("name"))) {
-                            hasCategory = true;
-                        }
-                        if ("marked_for_completion".equals(rs.getString("name"))) {
-                            hasMarkedForCompletion = true;
-                        }
-                        if ("user_id".equals(rs.getString("name"))) {
-                            hasUserId = true;
-                        }
-                        if ("created_by".equals(rs.getString("name"))) {
-                            hasCreatedBy = true;
-                        }
-                        if ("assignment_type".equals(rs.getString("name"))) {
-                            hasAssignmentType = true;
-                        }
-                        if ("created_date".equals(rs.getString("name"))) {
-                            hasCreatedDate = true;
-                        }
-                        if ("due_date".equals(rs.getString("name"))) {
-                            hasDueDate = true;
-                        }
-                    }
-                    if (!hasCategory) {
-                        s.execute("ALTER TABLE tasks ADD COLUMN category_id INTEGER");
-                    }
-                    if (!hasMarkedForCompletion) {
-                        s.execute("ALTER TABLE tasks ADD COLUMN marked_for_completion INTEGER DEFAULT 0");
-                    }
-                    if (!hasUserId) {
-                        s.execute("ALTER TABLE tasks ADD COLUMN user_id INTEGER");
-                    }
-                    if (!hasCreatedBy) {
-                        s.execute("ALTER TABLE tasks ADD COLUMN created_by INTEGER");
-                    }
-                    if (!hasAssignmentType) {
-                        s.execute("ALTER TABLE tasks ADD COLUMN assignment_type TEXT DEFAULT 'PERSONAL'");
-                    }
-                    if (!hasCreatedDate) {
-                        s.execute("ALTER TABLE tasks ADD COLUMN created_date INTEGER DEFAULT " + System.currentTimeMillis());
-                    }
-                    if (!hasDueDate) {
-                        s.execute("ALTER TABLE tasks ADD COLUMN due_date INTEGER");
-                    }
-                }
-                
-                // Check if categories table has created_by column
-                try (ResultSet rs = s.executeQuery("PRAGMA table_info(categories)")) {
-                    boolean hasCreatedBy = false;
-                    while (rs.next()) {
-                        if ("created_by".equals(rs.getString("name"))) {
-                            hasCreatedBy = true;
-                        }
-                    }
-                    if (!hasCreatedBy) {
-                        s.execute("ALTER TABLE categories ADD COLUMN created_by INTEGER");
-                    }
-                }
+            }
 
-                // Create assignments table to track task-employee relationships
-                s.execute("CREATE TABLE IF NOT EXISTS assignments (" +
-                        "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
-                        "task_id INTEGER NOT NULL, " +
-                        "employee_id INTEGER NOT NULL, " +
-                        "assigned_by INTEGER NOT NULL, " +
-                        "assigned_at INTEGER, " +
-                        "marked_for_completion INTEGER DEFAULT 0, " +
-                        "completed_at INTEGER, " +
-                        "FOREIGN KEY(task_id) REFERENCES tasks(id), " +
-                        "FOREIGN KEY(employee_id) REFERENCES users(id), " +
-                        "FOREIGN KEY(assigned_by) REFERENCES users(id), " +
-                        "UNIQUE(task_id, employee_id))");
-                
-                // Create action_logs table to track user actions
-                s.execute("CREATE TABLE IF NOT EXISTS action_logs (" +
-                        "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
-                        "user_id INTEGER NOT NULL, " +
-                        "action_type TEXT NOT NULL, " +
-                        "description TEXT, " +
-                        "timestamp INTEGER, " +
-                        "FOREIGN KEY(user_id) REFERENCES users(id))");
+            if (profile.isWal()) {
+                checkpointer = new WalCheckpointer(conn, writeLock, this::readersIdle, DB_FILE, profile);
+                checkpointer.start();
             }
         } catch (SQLException e) {
             throw new RuntimeException(e);
         }
     }
 
+    /**
+     * The shared write connection. Every statement on it must run while holding {@link #writeLock()}:
+     * batch writers turn autocommit off on this connection under the lock, so an unlocked statement
+     * could land inside, and be committed or rolled back with, another thread's transaction.
+     */
     public Connection getConnection() { return conn; }
 
+    public ReentrantLock writeLock() { return writeLock; }
+
+    /**
+     * A statement on the write connection that is compiled once and reused for the life of the
+     * connection. The caller must hold {@link #writeLock()} while using it and must not close it.
+     */
+    public PreparedStatement prepareWrite(String sql) throws SQLException {
+        if (!writeLock.isHeldByCurrentThread()) {
+            throw new IllegalStateException("prepareWrite requires the write lock");
+        }
+        PreparedStatement ps = writeStatements.get(sql);
+        if (ps == null) {
+            ps = conn.prepareStatement(sql);
+            writeStatements.put(sql, ps);
+        } else {
+            ps.clearParameters();
+        }
+        return ps;
+    }
+
+    /**
+     * Borrow a read-only connection from the pool. Close it to give it back.
+     * Nested borrows on the same thread share one connection.
+     */
+    public Connection getReadConnection() throws SQLException {
+        Lease lease = leases.get();
+        if (lease == null) {
+            lease = new Lease(acquireReader());
+            leases.set(lease);
+        }
+        lease.depth++;
+        return lease.handle;
+    }
+
+    /**
+     * A statement compiled once per pooled read connection and reused by later borrowers of it.
+     * leased must be the connection this thread got from {@link #getReadConnection()}. Do not close
+     * the statement; close its ResultSet before the same SQL is run again.
+     */
+    public PreparedStatement prepareRead(Connection leased, String sql) throws SQLException {
+        Lease lease = leases.get();
+        if (lease == null || lease.handle != leased) {
+            throw new IllegalStateException("prepareRead needs the read connection borrowed by this thread");
+        }
+        Map<String, PreparedStatement> cache = readStatements.computeIfAbsent(lease.raw, c -> new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() <= READ_STATEMENT_CACHE_SIZE) return false;
+                try { eldest.getValue().close(); } catch (SQLException ignored) {}
+                return true;
+            }
+        });
+        PreparedStatement ps = cache.get(sql);
+        if (ps == null) {
+            ps = lease.raw.prepareStatement(sql);
+            cache.put(sql, ps);
+        } else {
+            ps.clearParameters();
+        }
+        return ps;
+    }
+
+    private synchronized Connection acquireReader() throws SQLException {
+        long deadline = System.currentTimeMillis() + BORROW_TIMEOUT_MS;
+        while (idleReaders.isEmpty()) {
+            if (allReaders.size() < READ_POOL_SIZE) {
+                Connection c = openReader();
+                allReaders.add(c);
+                return c;
+            }
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) throw new SQLException("Timed out waiting for a read connection");
+            try {
+                wait(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted waiting for a read connection", e);
+            }
+        }
+        return idleReaders.pop();
+    }
+
+    // True when no read connection is leased out right now
+    private synchronized boolean readersIdle() {
+        return idleReaders.size() == allReaders.size();
+    }
+
+    private synchronized void releaseReader(Connection c) {
+        if (allReaders.contains(c)) {
+            idleReaders.push(c);
+            notifyAll();
+        }
+    }
+
+    private Connection openReader() throws SQLException {
+        SQLiteConfig config = new SQLiteConfig();
+        config.setReadOnly(true);
+        config.setBusyTimeout(BUSY_TIMEOUT_MS);
+        profile.applyTo(config);
+        return config.createConnection(URL);
+    }
+
+    public StorageProfile getProfile() { return profile; }
+
+    /**
+     * Recompute the report summary tables from the raw rows, repairing any drift.
+     */
+    public void rebuildReportSummaries() throws SQLException {
+        writeLock.lock();
+        try {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (Statement s = conn.createStatement()) {
+                ReportSummaries.rebuild(s);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
     public void close() {
+        // SQLite checkpoints and removes the -wal file itself when the last connection closes
+        if (checkpointer != null) {
+            checkpointer.stop();
+            checkpointer = null;
+        }
+        for (Map<String, PreparedStatement> cache : readStatements.values()) {
+            for (PreparedStatement ps : cache.values()) {
+                try { ps.close(); } catch (SQLException ignored) {}
+            }
+        }
+        readStatements.clear();
+        synchronized (this) {
+            for (Connection c : allReaders) {
+                try { c.close(); } catch (SQLException ignored) {}
+            }
+            allReaders.clear();
+            idleReaders.clear();
+        }
+        writeLock.lock();
+        try {
+            for (PreparedStatement ps : writeStatements.values()) {
+                try { ps.close(); } catch (SQLException ignored) {}
+            }
+            writeStatements.clear();
+        } finally {
+            writeLock.unlock();
+        }
         if (conn != null) try { conn.close(); } catch (SQLException ignored) {}
     }
 
-    // helper to convert LocalDateTime <-> string
-    public String toString(LocalDateTime dt) {
-        return dt == null ? null : dt.format(fmt);
+    // helpers to convert LocalDateTime <-> epoch millis in the system time zone (tasks.due_date)
+    public static Long toEpochMillis(LocalDateTime dt) {
+        return dt == null ? null : dt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+    public static LocalDateTime fromEpochMillis(ResultSet rs, String column) throws SQLException {
+        long ms = rs.getLong(column);
+        return rs.wasNull() ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(ms), ZoneId.systemDefault());
     }
-    public LocalDateTime fromString(String s) {
-        return s == null ? null : LocalDateTime.parse(s, fmt);
+    public static LocalDateTime fromEpochMillis(ResultSet rs, int column) throws SQLException {
+        long ms = rs.getLong(column);
+        return rs.wasNull() ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(ms), ZoneId.systemDefault());
+    }
+
+    // A borrowed reader plus the close()-returns-to-pool handle handed out to callers
+    private final class Lease {
+        final Connection raw;
+        final Connection handle;
+        int depth;
+
+        Lease(Connection raw) {
+            this.raw = raw;
+            this.handle = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                        if ("close".equals(method.getName())) {
+                            release();
+                            return null;
+                        }
+                        try {
+                            return method.invoke(raw, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+
+        void release() {
+            if (depth == 0) return;
+            if (--depth == 0) {
+                leases.remove();
+                releaseReader(raw);
+            }
+        }
     }
 }
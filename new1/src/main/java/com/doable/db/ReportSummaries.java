@@ -0,0 +1,193 @@
+package com.doable.db;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Materialized report counters, kept current by triggers so every write path (DAOs, tools,
+ * manual SQL) updates them in the same transaction as the row it changes.
+ *
+ * <ul>
+ *   <li>report_task_summary: assignment totals per task</li>
+ *   <li>report_manager_employee: assignment totals per (manager, employee); its own triggers roll
+ *       the totals and the distinct-employee counts up into report_manager_summary</li>
+ *   <li>report_manager_summary: per-manager totals plus the latest task creation and action log</li>
+ *   <li>report_category_summary: task count per (manager, category), category 0 = uncategorized</li>
+ * </ul>
+ *
+ * An assignment belongs to the manager that created its task, as in the original report queries.
+ * The last-activity columns only move forward, so deleting logs or tasks leaves them high until
+ * {@link #rebuild(Statement)} recomputes everything from the raw tables.
+ */
+final class ReportSummaries {
+
+    private ReportSummaries() {}
+
+    static void createSchema(Statement s) throws SQLException {
+        s.execute("CREATE TABLE IF NOT EXISTS report_manager_summary (" +
+                "manager_id INTEGER PRIMARY KEY, " +
+                "total_tasks INTEGER NOT NULL DEFAULT 0, " +
+                "total_assignments INTEGER NOT NULL DEFAULT 0, " +
+                "completed_assignments INTEGER NOT NULL DEFAULT 0, " +
+                "total_employees INTEGER NOT NULL DEFAULT 0, " +
+                "employees_completed INTEGER NOT NULL DEFAULT 0, " +
+                "last_task_created INTEGER, " +
+                "last_action INTEGER)");
+        s.execute("CREATE TABLE IF NOT EXISTS report_manager_employee (" +
+                "manager_id INTEGER NOT NULL, " +
+                "employee_id INTEGER NOT NULL, " +
+                "assignments INTEGER NOT NULL DEFAULT 0, " +
+                "completed INTEGER NOT NULL DEFAULT 0, " +
+                "PRIMARY KEY(manager_id, employee_id)) WITHOUT ROWID");
+        s.execute("CREATE TABLE IF NOT EXISTS report_task_summary (" +
+                "task_id INTEGER PRIMARY KEY, " +
+                "total_assignments INTEGER NOT NULL DEFAULT 0, " +
+                "completed_assignments INTEGER NOT NULL DEFAULT 0)");
+        s.execute("CREATE TABLE IF NOT EXISTS report_category_summary (" +
+                "manager_id INTEGER NOT NULL, " +
+                "category_id INTEGER NOT NULL, " +
+                "task_count INTEGER NOT NULL DEFAULT 0, " +
+                "PRIMARY KEY(manager_id, category_id)) WITHOUT ROWID");
+
+        // Per-(manager, employee) rows roll up into the manager row; an employee counts once
+        // the pair has any assignment / any completed assignment
+        s.execute("CREATE TRIGGER IF NOT EXISTS trg_report_pair_insert AFTER INSERT ON report_manager_employee BEGIN " +
+                "INSERT INTO report_manager_summary(manager_id, total_assignments, completed_assignments, total_employees, employees_completed) " +
+                "VALUES (NEW.manager_id, NEW.assignments, NEW.completed, NEW.assignments > 0, NEW.completed > 0) " +
+                "ON CONFLICT(manager_id) DO UPDATE SET " +
+                "total_assignments = total_assignments + excluded.total_assignments, " +
+                "completed_assignments = completed_assignments + excluded.completed_assignments, " +
+                "total_employees = total_employees + excluded.total_employees, " +
+                "employees_completed = employees_completed + excluded.employees_completed; " +
+                "END");
+        s.execute("CREATE TRIGGER IF NOT EXISTS trg_report_pair_update AFTER UPDATE ON report_manager_employee BEGIN " +
+                "UPDATE report_manager_summary SET " +
+                "total_assignments = total_assignments + NEW.assignments - OLD.assignments, " +
+                "completed_assignments = completed_assignments + NEW.completed - OLD.completed, " +
+                "total_employees = total_employees + (NEW.assignments > 0) - (OLD.assignments > 0), " +
+                "employees_completed = employees_completed + (NEW.completed > 0) - (OLD.completed > 0) " +
+                "WHERE manager_id = NEW.manager_id; " +
+                "END");
+
+        // Assignments
+        s.execute("CREATE TRIGGER IF NOT EXISTS trg_report_assignment_insert AFTER INSERT ON assignments BEGIN " +
+                "UPDATE report_task_summary SET total_assignments = total_assignments + 1, " +
+                "completed_assignments = completed_assignments + (NEW.marked_for_completion IS 1) " +
+                "WHERE task_id = NEW.task_id; " +
+                addToPairs("SELECT t.created_by, NEW.employee_id, 1, NEW.marked_for_completion IS 1 FROM tasks t " +
+                           "WHERE t.id = NEW.task_id AND t.created_by IS NOT NULL") +
+                "END");
+        s.execute("CREATE TRIGGER IF NOT EXISTS trg_report_assignment_delete AFTER DELETE ON assignments BEGIN " +
+                "UPDATE report_task_summary SET total_assignments = total_assignments - 1, " +
+                "completed_assignments = completed_assignments - (OLD.marked_for_completion IS 1) " +
+                "WHERE task_id = OLD.task_id; " +
+                "UPDATE report_manager_employee SET assignments = assignments - 1, " +
+                "completed = completed - (OLD.marked_for_completion IS 1) " +
+                "WHERE manager_id = (SELECT created_by FROM tasks WHERE id = OLD.task_id) AND employee_id = OLD.employee_id; " +
+                "END");
+        s.execute("CREATE TRIGGER IF NOT EXISTS trg_report_assignment_mark AFTER UPDATE OF marked_for_completion ON assignments " +
+                "WHEN (OLD.marked_for_completion IS 1) <> (NEW.marked_for_completion IS 1) BEGIN " +
+                "UPDATE report_task_summary SET completed_assignments = completed_assignments " +
+                "+ (NEW.marked_for_completion IS 1) - (OLD.marked_for_completion IS 1) WHERE task_id = NEW.task_id; " +
+                "UPDATE report_manager_employee SET completed = completed " +
+                "+ (NEW.marked_for_completion IS 1) - (OLD.marked_for_completion IS 1) " +
+                "WHERE manager_id = (SELECT created_by FROM tasks WHERE id = NEW.task_id) AND employee_id = NEW.employee_id; " +
+                "END");
+
+        // Tasks. A deleted task leaves its assignments behind, so their counts are taken out here;
+        // deleting those orphans later finds no task and changes nothing.
+        s.execute("CREATE TRIGGER IF NOT EXISTS trg_report_task_insert AFTER INSERT ON tasks BEGIN " +
+                "INSERT OR IGNORE INTO report_task_summary(task_id) VALUES (NEW.id); " +
+                addTaskToManager() +
+                addTaskToCategory() +
+                "END");
+        s.execute("CREATE TRIGGER IF NOT EXISTS trg_report_task_delete AFTER DELETE ON tasks BEGIN " +
+                "DELETE FROM report_task_summary WHERE task_id = OLD.id; " +
+                "UPDATE report_manager_summary SET total_tasks = total_tasks - 1 WHERE manager_id = OLD.created_by; " +
+                removeTaskFromCategory() +
+                removeTaskAssignmentsFromPairs() +
+                "END");
+        s.execute("CREATE TRIGGER IF NOT EXISTS trg_report_task_category AFTER UPDATE OF created_by, category_id ON tasks " +
+                "WHEN OLD.created_by IS NOT NEW.created_by OR OLD.category_id IS NOT NEW.category_id BEGIN " +
+                removeTaskFromCategory() +
+                addTaskToCategory() +
+                "END");
+        s.execute("CREATE TRIGGER IF NOT EXISTS trg_report_task_owner AFTER UPDATE OF created_by ON tasks " +
+                "WHEN OLD.created_by IS NOT NEW.created_by BEGIN " +
+                "UPDATE report_manager_summary SET total_tasks = total_tasks - 1 WHERE manager_id = OLD.created_by; " +
+                addTaskToManager() +
+                removeTaskAssignmentsFromPairs() +
+                addToPairs("SELECT NEW.created_by, a.employee_id, 1, a.marked_for_completion IS 1 FROM assignments a " +
+                           "WHERE a.task_id = NEW.id AND NEW.created_by IS NOT NULL") +
+                "END");
+
+        // Action logs only matter for managers' last activity
+        s.execute("CREATE TRIGGER IF NOT EXISTS trg_report_action_log_insert AFTER INSERT ON action_logs BEGIN " +
+                "INSERT INTO report_manager_summary(manager_id, last_action) " +
+                "SELECT u.id, NEW.timestamp FROM users u WHERE u.id = NEW.user_id AND u.role = 'MANAGER' " +
+                "ON CONFLICT(manager_id) DO UPDATE SET " +
+                "last_action = MAX(COALESCE(last_action, 0), COALESCE(excluded.last_action, 0)); " +
+                "END");
+    }
+
+    /**
+     * Recompute every summary row from the raw tables. Runs inside the caller's transaction.
+     */
+    static void rebuild(Statement s) throws SQLException {
+        s.execute("DELETE FROM report_manager_employee");
+        s.execute("DELETE FROM report_manager_summary");
+        s.execute("DELETE FROM report_task_summary");
+        s.execute("DELETE FROM report_category_summary");
+
+        s.execute("INSERT INTO report_task_summary(task_id, total_assignments, completed_assignments) " +
+                "SELECT t.id, COUNT(a.id), COALESCE(SUM(a.marked_for_completion IS 1), 0) " +
+                "FROM tasks t LEFT JOIN assignments a ON a.task_id = t.id GROUP BY t.id");
+        s.execute("INSERT INTO report_category_summary(manager_id, category_id, task_count) " +
+                "SELECT created_by, COALESCE(category_id, 0), COUNT(*) FROM tasks " +
+                "WHERE created_by IS NOT NULL GROUP BY created_by, COALESCE(category_id, 0)");
+        s.execute("INSERT INTO report_manager_summary(manager_id, total_tasks, last_task_created) " +
+                "SELECT created_by, COUNT(*), MAX(created_date) FROM tasks " +
+                "WHERE created_by IS NOT NULL GROUP BY created_by");
+        s.execute("INSERT INTO report_manager_summary(manager_id, last_action) " +
+                "SELECT u.id, (SELECT MAX(al.timestamp) FROM action_logs al WHERE al.user_id = u.id) FROM users u " +
+                "WHERE u.role = 'MANAGER' " +
+                "ON CONFLICT(manager_id) DO UPDATE SET last_action = excluded.last_action");
+        // The pair insert trigger fills in the manager assignment and employee totals
+        s.execute("INSERT INTO report_manager_employee(manager_id, employee_id, assignments, completed) " +
+                "SELECT t.created_by, a.employee_id, COUNT(*), SUM(a.marked_for_completion IS 1) " +
+                "FROM assignments a JOIN tasks t ON t.id = a.task_id " +
+                "WHERE t.created_by IS NOT NULL GROUP BY t.created_by, a.employee_id");
+    }
+
+    private static String addToPairs(String select) {
+        return "INSERT INTO report_manager_employee(manager_id, employee_id, assignments, completed) " + select + " " +
+               "ON CONFLICT(manager_id, employee_id) DO UPDATE SET " +
+               "assignments = assignments + excluded.assignments, completed = completed + excluded.completed; ";
+    }
+
+    private static String addTaskToManager() {
+        return "INSERT INTO report_manager_summary(manager_id, total_tasks, last_task_created) " +
+               "SELECT NEW.created_by, 1, NEW.created_date WHERE NEW.created_by IS NOT NULL " +
+               "ON CONFLICT(manager_id) DO UPDATE SET total_tasks = total_tasks + 1, " +
+               "last_task_created = MAX(COALESCE(last_task_created, 0), COALESCE(excluded.last_task_created, 0)); ";
+    }
+
+    private static String addTaskToCategory() {
+        return "INSERT INTO report_category_summary(manager_id, category_id, task_count) " +
+               "SELECT NEW.created_by, COALESCE(NEW.category_id, 0), 1 WHERE NEW.created_by IS NOT NULL " +
+               "ON CONFLICT(manager_id, category_id) DO UPDATE SET task_count = task_count + 1; ";
+    }
+
+    private static String removeTaskFromCategory() {
+        return "UPDATE report_category_summary SET task_count = task_count - 1 " +
+               "WHERE manager_id = OLD.created_by AND category_id = COALESCE(OLD.category_id, 0); ";
+    }
+
+    // Each employee holds at most one assignment per task (UNIQUE(task_id, employee_id))
+    private static String removeTaskAssignmentsFromPairs() {
+        return "UPDATE report_manager_employee SET assignments = assignments - 1, " +
+               "completed = completed - (SELECT a.marked_for_completion IS 1 FROM assignments a " +
+               "WHERE a.task_id = OLD.id AND a.employee_id = report_manager_employee.employee_id) " +
+               "WHERE manager_id = OLD.created_by AND employee_id IN (SELECT employee_id FROM assignments WHERE task_id = OLD.id); ";
+    }
+}
@@ -0,0 +1,255 @@
+package com.doable.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Versioned schema migrations.
+ * The applied version is stored in SQLite's {@code PRAGMA user_version}; on startup only the
+ * migrations numbered above it run, each in its own transaction. An up-to-date database costs
+ * a single PRAGMA read. Append new migrations at the end and never edit a released one.
+ */
+class SchemaMigrations {
+
+    @FunctionalInterface
+    interface Migration {
+        void apply(Statement s) throws SQLException;
+    }
+
+    private static final class Step {
+        final int version;
+        final String description;
+        final Migration migration;
+
+        Step(int version, String description, Migration migration) {
+            this.version = version;
+            this.description = description;
+            this.migration = migration;
+        }
+    }
+
+    private final Connection conn;
+    private final List<Step> steps = new ArrayList<>();
+
+    SchemaMigrations(Connection conn) {
+        this.conn = conn;
+        register(1, "base schema", SchemaMigrations::baseSchema);
+        register(2, "indexes for DAO access paths", SchemaMigrations::accessPathIndexes);
+        register(3, "report summary tables", SchemaMigrations::reportSummaries);
+        register(4, "epoch-millis task due dates", SchemaMigrations::epochDueDates);
+        register(5, "covering index for employee task filters", SchemaMigrations::employeeFilterIndex);
+        register(6, "id-ordered index for manager progress pages", SchemaMigrations::progressPageIndex);
+    }
+
+    private void register(int version, String description, Migration migration) {
+        if (!steps.isEmpty() && steps.get(steps.size() - 1).version >= version) {
+            throw new IllegalStateException("Migrations must be registered in increasing order: " + version);
+        }
+        steps.add(new Step(version, description, migration));
+    }
+
+    /**
+     * Apply every pending migration and return the resulting schema version.
+     */
+    int migrate() throws SQLException {
+        int current = currentVersion();
+        for (Step step : steps) {
+            if (step.version <= current) continue;
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (Statement s = conn.createStatement()) {
+                step.migration.apply(s);
+                s.execute("PRAGMA user_version = " + step.version);
+                conn.commit();
+                current = step.version;
+                System.out.println("Applied schema migration " + step.version + ": " + step.description);
+            } catch (SQLException e) {
+                conn.rollback();
+                throw new SQLException("Schema migration " + step.version + " (" + step.description + ") failed", e);
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+        }
+        return current;
+    }
+
+    private int currentVersion() throws SQLException {
+        try (Statement s = conn.createStatement(); ResultSet rs = s.executeQuery("PRAGMA user_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    // Version 1: the schema as it was before versioning. Databases created by older builds
+    // report user_version 0, so this also back-fills the columns those builds added by hand.
+    private static void baseSchema(Statement s) throws SQLException {
+        // Create users table
+        s.execute("CREATE TABLE IF NOT EXISTS users (" +
+                "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                "username TEXT NOT NULL UNIQUE, " +
+                "password TEXT NOT NULL, " +
+                "email TEXT NOT NULL, " +
+                "phone_number TEXT NOT NULL, " +
+                "role TEXT NOT NULL, " +
+                "department TEXT, " +
+                "job_title TEXT, " +
+                "created_by INTEGER, " +
+                "created_at INTEGER, " +
+                "FOREIGN KEY(created_by) REFERENCES users(id))");
+
+        // Create categories table
+        s.execute("CREATE TABLE IF NOT EXISTS categories (" +
+                "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                "name TEXT NOT NULL UNIQUE, " +
+                "created_by INTEGER, " +
+                "FOREIGN KEY(created_by) REFERENCES users(id))");
+
+        // Create tasks table with category_id
+        s.execute("CREATE TABLE IF NOT EXISTS tasks (" +
+                "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                "title TEXT NOT NULL, " +
+                "description TEXT, " +
+                "due TEXT, " +
+                "completed INTEGER DEFAULT 0, " +
+                "repeat_rule TEXT DEFAULT 'NONE', " +
+                "category_id INTEGER, " +
+                "user_id INTEGER, " +
+                "created_by INTEGER, " +
+                "FOREIGN KEY(category_id) REFERENCES categories(id), " +
+                "FOREIGN KEY(user_id) REFERENCES users(id), " +
+                "FOREIGN KEY(created_by) REFERENCES users(id))");
+
+        addColumnIfMissing(s, "tasks", "category_id", "INTEGER");
+        addColumnIfMissing(s, "tasks", "marked_for_completion", "INTEGER DEFAULT 0");
+        addColumnIfMissing(s, "tasks", "user_id", "INTEGER");
+        addColumnIfMissing(s, "tasks", "created_by", "INTEGER");
+        addColumnIfMissing(s, "tasks", "assignment_type", "TEXT DEFAULT 'PERSONAL'");
+        addColumnIfMissing(s, "tasks", "created_date", "INTEGER DEFAULT " + System.currentTimeMillis());
+        addColumnIfMissing(s, "tasks", "due_date", "INTEGER");
+        addColumnIfMissing(s, "categories", "created_by", "INTEGER");
+
+        // Create assignments table to track task-employee relationships
+        s.execute("CREATE TABLE IF NOT EXISTS assignments (" +
+                "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                "task_id INTEGER NOT NULL, " +
+                "employee_id INTEGER NOT NULL, " +
+                "assigned_by INTEGER NOT NULL, " +
+                "assigned_at INTEGER, " +
+                "marked_for_completion INTEGER DEFAULT 0, " +
+                "completed_at INTEGER, " +
+                "FOREIGN KEY(task_id) REFERENCES tasks(id), " +
+                "FOREIGN KEY(employee_id) REFERENCES users(id), " +
+                "FOREIGN KEY(assigned_by) REFERENCES users(id), " +
+                "UNIQUE(task_id, employee_id))");
+
+        // Create action_logs table to track user actions
+        s.execute("CREATE TABLE IF NOT EXISTS action_logs (" +
+                "id INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                "user_id INTEGER NOT NULL, " +
+                "action_type TEXT NOT NULL, " +
+                "description TEXT, " +
+                "timestamp INTEGER, " +
+                "FOREIGN KEY(user_id) REFERENCES users(id))");
+    }
+
+    // Version 2: one index per DAO filter column. Composite indexes carry the ORDER BY column
+    // (or the columns the join reads) so the common lookups never touch a temp B-tree.
+    private static void accessPathIndexes(Statement s) throws SQLException {
+        // TaskDao.findByCreatedBy / ReportDao per-manager aggregates
+        s.execute("CREATE INDEX IF NOT EXISTS idx_tasks_created_by ON tasks(created_by, due)");
+        // TaskDao.findByAssignedTo
+        s.execute("CREATE INDEX IF NOT EXISTS idx_tasks_user_id ON tasks(user_id, due)");
+        // AssignmentDao.findByEmployeeId; task_id and state ride along for the task join
+        s.execute("CREATE INDEX IF NOT EXISTS idx_assignments_employee ON assignments(employee_id, marked_for_completion, task_id)");
+        // AssignmentDao.findByManagerId
+        s.execute("CREATE INDEX IF NOT EXISTS idx_assignments_assigned_by ON assignments(assigned_by, task_id)");
+        // ActionLogDao.findByUserId (ORDER BY timestamp DESC) and report last-activity lookups
+        s.execute("CREATE INDEX IF NOT EXISTS idx_action_logs_user_ts ON action_logs(user_id, timestamp)");
+        // ActionLogDao.findAll
+        s.execute("CREATE INDEX IF NOT EXISTS idx_action_logs_ts ON action_logs(timestamp)");
+        // ActionLogDao.findByActionType
+        s.execute("CREATE INDEX IF NOT EXISTS idx_action_logs_type_ts ON action_logs(action_type, timestamp)");
+        // UserDao.getEmployeesByManager
+        s.execute("CREATE INDEX IF NOT EXISTS idx_users_created_by ON users(created_by, role)");
+        s.execute("ANALYZE");
+    }
+
+    // Version 3: trigger-maintained report counters, seeded from the existing rows
+    private static void reportSummaries(Statement s) throws SQLException {
+        ReportSummaries.createSchema(s);
+        ReportSummaries.rebuild(s);
+    }
+
+    // Version 4: tasks.due_date (epoch millis, system time zone) becomes the only due column.
+    // It is back-filled from the ISO text in tasks.due, which was what the app read and wrote,
+    // then the due-ordered indexes move over and the text column is dropped. A due text that does
+    // not parse is logged and the task is left without a due date rather than failing the upgrade.
+    private static void epochDueDates(Statement s) throws SQLException {
+        addColumnIfMissing(s, "tasks", "due_date", "INTEGER");
+        s.execute("UPDATE tasks SET due_date = NULL");
+        List<long[]> dues = new ArrayList<>();
+        try (ResultSet rs = s.executeQuery("SELECT id, due FROM tasks WHERE due IS NOT NULL")) {
+            while (rs.next()) {
+                long id = rs.getLong(1);
+                String text = rs.getString(2);
+                try {
+                    LocalDateTime due = LocalDateTime.parse(text, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+                    dues.add(new long[] {id, Database.toEpochMillis(due)});
+                } catch (DateTimeParseException e) {
+                    System.err.println("Task " + id + ": unreadable due date '" + text + "' dropped during migration");
+                }
+            }
+        }
+        try (PreparedStatement ps = s.getConnection().prepareStatement("UPDATE tasks SET due_date = ? WHERE id = ?")) {
+            for (long[] row : dues) {
+                ps.setLong(1, row[1]);
+                ps.setLong(2, row[0]);
+                ps.addBatch();
+            }
+            ps.executeBatch();
+        }
+
+        s.execute("DROP INDEX IF EXISTS idx_tasks_created_by");
+        s.execute("DROP INDEX IF EXISTS idx_tasks_user_id");
+        s.execute("ALTER TABLE tasks DROP COLUMN due");
+        // TaskDao.findByCreatedBy / findPageByCreatedBy / ReportDao per-manager aggregates
+        s.execute("CREATE INDEX IF NOT EXISTS idx_tasks_created_by ON tasks(created_by, due_date)");
+        // TaskDao.findByAssignedTo
+        s.execute("CREATE INDEX IF NOT EXISTS idx_tasks_user_id ON tasks(user_id, due_date)");
+        // TaskDao.findAll / findPage
+        s.execute("CREATE INDEX IF NOT EXISTS idx_tasks_due_date ON tasks(due_date)");
+        s.execute("ANALYZE");
+    }
+
+    // Version 5: TaskDao.findForEmployee(TaskQuery) filters on assigned_by (manager vs personal) and
+    // sorts on it; with assigned_by in the index neither needs a lookup of the assignment row.
+    private static void employeeFilterIndex(Statement s) throws SQLException {
+        s.execute("DROP INDEX IF EXISTS idx_assignments_employee");
+        s.execute("CREATE INDEX IF NOT EXISTS idx_assignments_employee ON assignments(employee_id, marked_for_completion, assigned_by, task_id)");
+        s.execute("ANALYZE");
+    }
+
+    // Version 6: AssignmentDao.findProgressByManager pages by "assigned_by = ? AND id > ? ORDER BY id";
+    // idx_assignments_assigned_by is ordered by task_id after the manager, so each page sorted all of
+    // the manager's assignments in a temp B-tree. This one walks them in id order from the cursor.
+    private static void progressPageIndex(Statement s) throws SQLException {
+        s.execute("CREATE INDEX IF NOT EXISTS idx_assignments_assigned_by_id ON assignments(assigned_by, id)");
+        s.execute("ANALYZE");
+    }
+
+    private static void addColumnIfMissing(Statement s, String table, String column, String definition) throws SQLException {
+        try (ResultSet rs = s.executeQuery("PRAGMA table_info(" + table + ")")) {
+            while (rs.next()) {
+                if (column.equals(rs.getString("name"))) return;
+            }
+        }
+        s.execute("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition);
+    }
+}
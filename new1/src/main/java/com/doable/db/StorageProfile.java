@@ -0,0 +1,77 @@
+package com.doable.db;
+
+import org.sqlite.SQLiteConfig;
+
+/**
+ * SQLite tuning applied to every connection opened by {@link Database}.
+ * Defaults favour concurrent readers (WAL) and low write latency; each value can be
+ * overridden with a system property, e.g. {@code -Ddoable.db.synchronous=FULL}.
+ */
+public class StorageProfile {
+    private final SQLiteConfig.JournalMode journalMode;
+    private final SQLiteConfig.SynchronousMode synchronous;
+    private final int cacheSizeKb;
+    private final long mmapSizeBytes;
+    private final SQLiteConfig.TempStore tempStore;
+    private final int checkpointIntervalSeconds;
+    private final long walSizeLimitBytes;
+
+    public StorageProfile(SQLiteConfig.JournalMode journalMode, SQLiteConfig.SynchronousMode synchronous,
+                          int cacheSizeKb, long mmapSizeBytes, SQLiteConfig.TempStore tempStore,
+                          int checkpointIntervalSeconds, long walSizeLimitBytes) {
+        this.journalMode = journalMode;
+        this.synchronous = synchronous;
+        this.cacheSizeKb = cacheSizeKb;
+        this.mmapSizeBytes = mmapSizeBytes;
+        this.tempStore = tempStore;
+        this.checkpointIntervalSeconds = checkpointIntervalSeconds;
+        this.walSizeLimitBytes = walSizeLimitBytes;
+    }
+
+    /**
+     * Build the profile from {@code doable.db.*} system properties, falling back to defaults.
+     */
+    public static StorageProfile fromSystemProperties() {
+        return new StorageProfile(
+                SQLiteConfig.JournalMode.valueOf(prop("journalMode", "WAL").toUpperCase()),
+                SQLiteConfig.SynchronousMode.valueOf(prop("synchronous", "NORMAL").toUpperCase()),
+                Integer.parseInt(prop("cacheSizeKb", "16384")),
+                Long.parseLong(prop("mmapSizeBytes", String.valueOf(64L * 1024 * 1024))),
+                SQLiteConfig.TempStore.valueOf(prop("tempStore", "MEMORY").toUpperCase()),
+                Integer.parseInt(prop("checkpointIntervalSeconds", "30")),
+                Long.parseLong(prop("walSizeLimitBytes", String.valueOf(16L * 1024 * 1024))));
+    }
+
+    private static String prop(String key, String def) {
+        return System.getProperty("doable.db." + key, def);
+    }
+
+    /**
+     * Per-connection settings shared by the writer and the readers.
+     */
+    void applyTo(SQLiteConfig config) {
+        // Negative cache_size is interpreted by SQLite as KiB rather than pages
+        config.setCacheSize(-cacheSizeKb);
+        config.setPragma(SQLiteConfig.Pragma.MMAP_SIZE, String.valueOf(mmapSizeBytes));
+        config.setTempStore(tempStore);
+    }
+
+    /**
+     * Settings that only make sense on the write connection.
+     */
+    void applyToWriter(SQLiteConfig config) {
+        applyTo(config);
+        config.setJournalMode(journalMode);
+        config.setSynchronous(synchronous);
+        config.setJournalSizeLimit((int) Math.min(Integer.MAX_VALUE, walSizeLimitBytes));
+    }
+
+    public boolean isWal() { return journalMode == SQLiteConfig.JournalMode.WAL; }
+    public SQLiteConfig.JournalMode getJournalMode() { return journalMode; }
+    public SQLiteConfig.SynchronousMode getSynchronous() { return synchronous; }
+    public int getCacheSizeKb() { return cacheSizeKb; }
+    public long getMmapSizeBytes() { return mmapSizeBytes; }
+    public SQLiteConfig.TempStore getTempStore() { return tempStore; }
+    public int getCheckpointIntervalSeconds() { return checkpointIntervalSeconds; }
+    public long getWalSizeLimitBytes() { return walSizeLimitBytes; }
+}
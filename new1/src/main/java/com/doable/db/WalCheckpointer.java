@@ -0,0 +1,71 @@
+package com.doable.db;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Background WAL checkpointer.
+ * Runs a PASSIVE checkpoint on a fixed interval, which copies what it can without waiting on
+ * readers. Once the -wal file grows past the profile's limit it escalates to TRUNCATE, but only on
+ * a tick where no read connection is leased, since TRUNCATE waits for readers (up to the busy
+ * timeout) while holding the write lock, stalling every write. A read that starts between that
+ * check and the checkpoint can still cause such a wait.
+ */
+class WalCheckpointer {
+    private final Connection conn;
+    private final ReentrantLock writeLock;
+    private final BooleanSupplier readersIdle;
+    private final File walFile;
+    private final StorageProfile profile;
+    private ScheduledExecutorService executor;
+
+    WalCheckpointer(Connection conn, ReentrantLock writeLock, BooleanSupplier readersIdle, String dbFile, StorageProfile profile) {
+        this.conn = conn;
+        this.writeLock = writeLock;
+        this.readersIdle = readersIdle;
+        this.walFile = new File(dbFile + "-wal");
+        this.profile = profile;
+    }
+
+    void start() {
+        if (executor != null || profile.getCheckpointIntervalSeconds() <= 0) return;
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "WalCheckpointerThread");
+            t.setDaemon(true);
+            return t;
+        });
+        long interval = profile.getCheckpointIntervalSeconds();
+        executor.scheduleWithFixedDelay(this::checkpoint, interval, interval, TimeUnit.SECONDS);
+    }
+
+    void stop() {
+        if (executor == null) return;
+        executor.shutdownNow();
+        executor = null;
+    }
+
+    void checkpoint() {
+        boolean oversized = walFile.length() > profile.getWalSizeLimitBytes();
+        String mode = oversized && readersIdle.getAsBoolean() ? "TRUNCATE" : "PASSIVE";
+        // Don't wait behind a long write; the next tick will try again
+        if (!writeLock.tryLock()) return;
+        try (Statement s = conn.createStatement();
+             ResultSet rs = s.executeQuery("PRAGMA wal_checkpoint(" + mode + ")")) {
+            if (rs.next() && rs.getInt(1) != 0) {
+                System.out.println("WAL checkpoint (" + mode + ") was busy, " + rs.getInt(3) + "/" + rs.getInt(2) + " frames copied");
+            }
+        } catch (SQLException e) {
+            System.err.println("WAL checkpoint failed: " + e.getMessage());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+}
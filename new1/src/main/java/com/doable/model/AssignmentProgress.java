@@ -0,0 +1,45 @@
+package com.doable.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat row for the manager's progress view: one assignment joined with its task,
+ * employee and category.
+ */
+public class AssignmentProgress {
+    private long assignmentId;
+    private long taskId;
+    private long employeeId;
+    private String employeeName;
+    private String taskTitle;
+    private String categoryName; // nullable
+    private LocalDateTime dueDate; // nullable
+    private boolean markedForCompletion;
+
+    public AssignmentProgress() {}
+
+    // Getters and Setters
+    public long getAssignmentId() { return assignmentId; }
+    public void setAssignmentId(long assignmentId) { this.assignmentId = assignmentId; }
+
+    public long getTaskId() { return taskId; }
+    public void setTaskId(long taskId) { this.taskId = taskId; }
+
+    public long getEmployeeId() { return employeeId; }
+    public void setEmployeeId(long employeeId) { this.employeeId = employeeId; }
+
+    public String getEmployeeName() { return employeeName; }
+    public void setEmployeeName(String employeeName) { this.employeeName = employeeName; }
+
+    public String getTaskTitle() { return taskTitle; }
+    public void setTaskTitle(String taskTitle) { this.taskTitle = taskTitle; }
+
+    public String getCategoryName() { return categoryName; }
+    public void setCategoryName(String categoryName) { this.categoryName = categoryName; }
+
+    public LocalDateTime getDueDate() { return dueDate; }
+    public void setDueDate(LocalDateTime dueDate) { this.dueDate = dueDate; }
+
+    public boolean isMarkedForCompletion() { return markedForCompletion; }
+    public void setMarkedForCompletion(boolean markedForCompletion) { this.markedForCompletion = markedForCompletion; }
+}
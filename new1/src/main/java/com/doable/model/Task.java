@@ -1,8 +1,17 @@
 package com.doable.model;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
 
 public class Task {
+    /**
+     * Persistent columns, in the order TaskDao writes them. Used for dirty tracking.
+     */
+    public enum Field { TITLE, DESCRIPTION, DUE_DATE, COMPLETED, REPEAT_RULE, CATEGORY_ID, MARKED_FOR_COMPLETION, USER_ID, CREATED_BY, ASSIGNMENT_TYPE }
+
     private long id;
     private String title;
     private String description;
@@ -17,6 +26,10 @@ public class Task {
     private String createdByUsername; // Username of task creator
     private String assignmentType; // "PERSONAL" for self-created, "MANAGER" for manager-assigned
 
+    // Fields changed since the last markClean(); until then every field counts as dirty
+    private final EnumSet<Field> dirty = EnumSet.noneOf(Field.class);
+    private boolean tracking;
+
     public Task() {}
 
     public Task(long id, String title, String description, LocalDateTime dueDate, boolean completed, String repeatRule) {
@@ -35,29 +48,45 @@ public class Task {
     public long getId() { return id; }
     public void setId(long id) { this.id = id; }
     public String getTitle() { return title; }
-    public void setTitle(String title) { this.title = title; }
+    public void setTitle(String title) { if (!Objects.equals(this.title, title)) dirty.add(Field.TITLE); this.title = title; }
     public String getDescription() { return description; }
-    public void setDescription(String description) { this.description = description; }
+    public void setDescription(String description) { if (!Objects.equals(this.description, description)) dirty.add(Field.DESCRIPTION); this.description = description; }
     public LocalDateTime getDueDate() { return dueDate; }
-    public void setDueDate(LocalDateTime dueDate) { this.dueDate = dueDate; }
+    public void setDueDate(LocalDateTime dueDate) { if (!Objects.equals(this.dueDate, dueDate)) dirty.add(Field.DUE_DATE); this.dueDate = dueDate; }
     public boolean isCompleted() { return completed; }
-    public void setCompleted(boolean completed) { this.completed = completed; }
+    public void setCompleted(boolean completed) { if (this.completed != completed) dirty.add(Field.COMPLETED); this.completed = completed; }
     public String getRepeatRule() { return repeatRule; }
-    public void setRepeatRule(String repeatRule) { this.repeatRule = repeatRule; }
+    public void setRepeatRule(String repeatRule) { if (!Objects.equals(this.repeatRule, repeatRule)) dirty.add(Field.REPEAT_RULE); this.repeatRule = repeatRule; }
     public long getCategoryId() { return categoryId; }
-    public void setCategoryId(long categoryId) { this.categoryId = categoryId; }
+    public void setCategoryId(long categoryId) { if (this.categoryId != categoryId) dirty.add(Field.CATEGORY_ID); this.categoryId = categoryId; }
     public String getCategoryName() { return categoryName; }
     public void setCategoryName(String categoryName) { this.categoryName = categoryName; }
     public boolean isMarkedForCompletion() { return markedForCompletion; }
-    public void setMarkedForCompletion(boolean markedForCompletion) { this.markedForCompletion = markedForCompletion; }
+    public void setMarkedForCompletion(boolean markedForCompletion) { if (this.markedForCompletion != markedForCompletion) dirty.add(Field.MARKED_FOR_COMPLETION); this.markedForCompletion = markedForCompletion; }
     public long getUserId() { return userId; }
-    public void setUserId(long userId) { this.userId = userId; }
+    public void setUserId(long userId) { if (this.userId != userId) dirty.add(Field.USER_ID); this.userId = userId; }
     public long getCreatedBy() { return createdBy; }
-    public void setCreatedBy(long createdBy) { this.createdBy = createdBy; }
+    public void setCreatedBy(long createdBy) { if (this.createdBy != createdBy) dirty.add(Field.CREATED_BY); this.createdBy = createdBy; }
     public String getCreatedByUsername() { return createdByUsername; }
     public void setCreatedByUsername(String createdByUsername) { this.createdByUsername = createdByUsername; }
     public String getAssignmentType() { return assignmentType; }
-    public void setAssignmentType(String assignmentType) { this.assignmentType = assignmentType; }
+    public void setAssignmentType(String assignmentType) { if (!Objects.equals(this.assignmentType, assignmentType)) dirty.add(Field.ASSIGNMENT_TYPE); this.assignmentType = assignmentType; }
+
+    /**
+     * Fields to write on the next update. A Task that was never loaded or saved reports every
+     * field, since its values may not match the row at all.
+     */
+    public Set<Field> getDirtyFields() {
+        return Collections.unmodifiableSet(tracking ? EnumSet.copyOf(dirty) : EnumSet.allOf(Field.class));
+    }
+
+    /**
+     * Called by TaskDao once the object matches its row (after a load, insert or update).
+     */
+    public void markClean() {
+        dirty.clear();
+        tracking = true;
+    }
 
     @Override
     public String toString() {
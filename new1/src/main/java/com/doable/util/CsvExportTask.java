@@ -0,0 +1,89 @@
+package com.doable.util;
+
+import javafx.concurrent.Task;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.function.Function;
+
+/**
+ * Streams rows from a DAO cursor into a CSV file on a background thread.
+ * Only the current row is held in memory. Output goes to a temp file next to the target and is
+ * moved into place when complete, so a cancelled or failed export never leaves a partial file.
+ * The task's value is the number of rows written.
+ */
+public class CsvExportTask<T> extends Task<Long> {
+    private static final int PROGRESS_EVERY = 500;
+
+    private final File file;
+    private final String header;
+    private final RowCount rowCount;
+    private final RowSource<T> source;
+    private final Function<T, String> formatter;
+    private long expectedRows;
+
+    /**
+     * @param rowCount     row count for the progress bar, queried when the task runs; 0 shows indeterminate progress
+     * @param formatter    renders one row as a CSV line without the trailing newline
+     */
+    public CsvExportTask(File file, String header, RowCount rowCount, RowSource<T> source, Function<T, String> formatter) {
+        this.file = file;
+        this.header = header;
+        this.rowCount = rowCount;
+        this.source = source;
+        this.formatter = formatter;
+    }
+
+    @Override
+    protected Long call() throws Exception {
+        expectedRows = rowCount.count();
+        Path target = file.toPath().toAbsolutePath();
+        Path tmp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".part");
+        long[] written = {0};
+        boolean complete = false;
+        try {
+            try (BufferedWriter out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                out.write(header);
+                out.write('\n');
+                source.stream(row -> {
+                    if (isCancelled()) return false;
+                    try {
+                        out.write(formatter.apply(row));
+                        out.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    if (++written[0] % PROGRESS_EVERY == 0) {
+                        reportProgress(written[0]);
+                    }
+                    return true;
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            if (isCancelled()) return written[0];
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            complete = true;
+        } finally {
+            if (!complete) Files.deleteIfExists(tmp);
+        }
+        updateProgress(1, 1);
+        updateMessage(written[0] + " rows written");
+        return written[0];
+    }
+
+    private void reportProgress(long rows) {
+        if (expectedRows > 0) {
+            updateProgress(rows, Math.max(rows, expectedRows));
+            updateMessage(rows + " of " + expectedRows + " rows written");
+        } else {
+            updateMessage(rows + " rows written");
+        }
+    }
+}
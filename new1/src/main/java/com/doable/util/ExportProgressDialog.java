@@ -0,0 +1,57 @@
+package com.doable.util;
+
+import javafx.concurrent.Task;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+
+import java.util.function.Consumer;
+
+/**
+ * Runs an export task on a daemon thread behind a small progress window with a Cancel button.
+ * Closing the window also cancels. The callbacks run on the FX thread.
+ */
+public final class ExportProgressDialog {
+
+    private ExportProgressDialog() {}
+
+    public static <V> void run(Task<V> task, String title, Consumer<V> onSuccess, Consumer<Throwable> onFailure) {
+        Stage stage = new Stage();
+        stage.setTitle(title);
+
+        Label messageLabel = new Label();
+        messageLabel.setStyle("-fx-font-size: 12; -fx-text-fill: #374151;");
+        messageLabel.textProperty().bind(task.messageProperty());
+
+        ProgressBar progressBar = new ProgressBar();
+        progressBar.setPrefWidth(320);
+        progressBar.progressProperty().bind(task.progressProperty());
+
+        Button cancelButton = new Button("Cancel");
+        cancelButton.setStyle("-fx-padding: 8 15; -fx-font-size: 12; -fx-background-color: #6b7280; -fx-text-fill: white;");
+        cancelButton.setOnAction(e -> task.cancel());
+
+        VBox layout = new VBox(10, messageLabel, progressBar, cancelButton);
+        layout.setStyle("-fx-padding: 15; -fx-background-color: #f5f5f5;");
+        stage.setScene(new Scene(layout));
+        stage.setOnCloseRequest(e -> task.cancel());
+
+        task.setOnSucceeded(e -> {
+            stage.close();
+            onSuccess.accept(task.getValue());
+        });
+        task.setOnFailed(e -> {
+            stage.close();
+            onFailure.accept(task.getException());
+        });
+        task.setOnCancelled(e -> stage.close());
+
+        Thread thread = new Thread(task, "Export-" + title);
+        thread.setDaemon(true);
+        thread.start();
+        stage.show();
+    }
+}
@@ -0,0 +1,117 @@
+package com.doable.util;
+
+import javafx.collections.ObservableList;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+/**
+ * Brings an ObservableList in line with a new list of the same rows (matched by key, e.g. task or
+ * assignment id) using the fewest change events: rows that are gone or out of order are removed,
+ * new ones are inserted in runs, and rows that are still there are only replaced when they
+ * changed. A ListView or TableView then updates just the affected cells instead of re-laying out
+ * every row as after setAll.
+ *
+ * Keys must be unique within each list.
+ */
+public final class ListDiff {
+    // Above this many separate remove / insert runs one setAll is cheaper than the individual events
+    private static final int MAX_RUNS = 64;
+
+    private ListDiff() {}
+
+    /**
+     * Make target equal to next. same tells whether an old and a new row with the same key
+     * render the same, in which case the old row is kept.
+     */
+    public static <T, K> void apply(ObservableList<T> target, List<? extends T> next,
+                                    Function<? super T, K> key, BiPredicate<? super T, ? super T> same) {
+        if (target.isEmpty() || next.isEmpty()) {
+            target.setAll(next);
+            return;
+        }
+        Map<K, Integer> nextPos = new HashMap<>(next.size() * 2);
+        for (int i = 0; i < next.size(); i++) {
+            nextPos.put(key.apply(next.get(i)), i);
+        }
+        int[] pos = new int[target.size()];
+        for (int i = 0; i < pos.length; i++) {
+            pos[i] = nextPos.getOrDefault(key.apply(target.get(i)), -1);
+        }
+
+        // Rows on the longest run of increasing positions stay where they are; the rest go
+        boolean[] keep = longestIncreasing(pos);
+        int runs = 0;
+        int kept = 0;
+        int prev = -1;
+        for (int i = 0; i < pos.length; i++) {
+            if (!keep[i]) {
+                if (i == 0 || keep[i - 1]) runs++;
+                continue;
+            }
+            if (pos[i] != prev + 1) runs++;
+            prev = pos[i];
+            kept++;
+        }
+        if (prev != next.size() - 1) runs++;
+        if (runs > MAX_RUNS || kept == 0) {
+            target.setAll(next);
+            return;
+        }
+
+        for (int i = pos.length - 1; i >= 0; ) {
+            if (keep[i]) {
+                i--;
+                continue;
+            }
+            int to = i + 1;
+            while (i >= 0 && !keep[i]) i--;
+            target.remove(i + 1, to);
+        }
+
+        // target is now a subsequence of next; fill the gaps and replace changed rows
+        int j = 0;
+        for (int i = 0; i < next.size(); ) {
+            T row = next.get(i);
+            if (j < target.size() && key.apply(target.get(j)).equals(key.apply(row))) {
+                if (!same.test(target.get(j), row)) target.set(j, row);
+                i++;
+                j++;
+                continue;
+            }
+            int from = i;
+            K stop = j < target.size() ? key.apply(target.get(j)) : null;
+            while (i < next.size() && (stop == null || !stop.equals(key.apply(next.get(i))))) i++;
+            target.addAll(j, next.subList(from, i));
+            j += i - from;
+        }
+    }
+
+    // Marks one longest strictly increasing subsequence of the non-negative entries (O(n log n))
+    private static boolean[] longestIncreasing(int[] pos) {
+        int n = pos.length;
+        int[] tails = new int[n];
+        int[] parent = new int[n];
+        int length = 0;
+        for (int i = 0; i < n; i++) {
+            if (pos[i] < 0) continue;
+            int lo = 0;
+            int hi = length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (pos[tails[mid]] < pos[i]) lo = mid + 1; else hi = mid;
+            }
+            parent[i] = lo > 0 ? tails[lo - 1] : -1;
+            tails[lo] = i;
+            if (lo == length) length++;
+        }
+        boolean[] keep = new boolean[n];
+        for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = parent[i]) {
+            keep[i] = true;
+        }
+        return keep;
+    }
+}
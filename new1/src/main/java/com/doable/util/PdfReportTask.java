@@ -0,0 +1,177 @@
+package com.doable.util;
+
+import com.itextpdf.io.font.constants.StandardFonts;
+import com.itextpdf.kernel.font.PdfFont;
+import com.itextpdf.kernel.font.PdfFontFactory;
+import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.Document;
+import com.itextpdf.layout.Style;
+import com.itextpdf.layout.element.Cell;
+import com.itextpdf.layout.element.Paragraph;
+import com.itextpdf.layout.element.Table;
+import com.itextpdf.layout.properties.TextAlignment;
+import com.itextpdf.layout.properties.UnitValue;
+import javafx.concurrent.Task;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Renders a report PDF on a background thread: a title block, any number of small summary
+ * tables, and one detail table streamed from a DAO cursor.
+ *
+ * The detail table is an iText "large table": it is added to the document up front and flushed
+ * every FLUSH_EVERY rows, so finished rows are laid out and written to disk instead of being
+ * held until close. Its header row repeats on every page. The two fonts and the header style
+ * are created once per document and shared by every cell.
+ * Like {@link CsvExportTask} it writes to a temp file and only moves it into place on success.
+ */
+public class PdfReportTask<T> extends Task<Long> {
+    private static final int FLUSH_EVERY = 200;
+
+    private static final class Summary {
+        final String heading;
+        final String[] headers;
+        final List<String[]> rows;
+
+        Summary(String heading, String[] headers, List<String[]> rows) {
+            this.heading = heading;
+            this.headers = headers;
+            this.rows = rows;
+        }
+    }
+
+    private final File file;
+    private final String title;
+    private final String info;
+    private final List<Summary> summaries = new ArrayList<>();
+    private String detailsHeading;
+    private String[] detailHeaders;
+    private RowCount rowCount;
+    private long expectedRows;
+    private RowSource<T> source;
+    private Function<T, String[]> cells;
+
+    public PdfReportTask(File file, String title, String info) {
+        this.file = file;
+        this.title = title;
+        this.info = info;
+    }
+
+    /**
+     * Add a small, fully materialized table (statistics, category counts) above the details.
+     */
+    public PdfReportTask<T> addSummary(String heading, String[] headers, List<String[]> rows) {
+        summaries.add(new Summary(heading, headers, rows));
+        return this;
+    }
+
+    /**
+     * The streamed detail table. heading may be null; cells renders one row, one string per header.
+     * rowCount sizes the progress bar and is queried when the task runs.
+     */
+    public PdfReportTask<T> details(String heading, String[] headers, RowCount rowCount, RowSource<T> source, Function<T, String[]> cells) {
+        this.detailsHeading = heading;
+        this.detailHeaders = headers;
+        this.rowCount = rowCount;
+        this.source = source;
+        this.cells = cells;
+        return this;
+    }
+
+    @Override
+    protected Long call() throws Exception {
+        Path target = file.toPath().toAbsolutePath();
+        Path tmp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".part");
+        long[] written = {0};
+        boolean complete = false;
+        try {
+            try (Document document = new Document(new PdfDocument(new PdfWriter(tmp.toFile())))) {
+                document.setMargins(20, 20, 20, 20);
+                PdfFont regular = PdfFontFactory.createFont(StandardFonts.HELVETICA);
+                PdfFont bold = PdfFontFactory.createFont(StandardFonts.HELVETICA_BOLD);
+                document.setFont(regular);
+                Style headerStyle = new Style().setFont(bold);
+
+                document.add(new Paragraph(title).setFont(bold).setFontSize(24).setTextAlignment(TextAlignment.CENTER));
+                document.add(new Paragraph(info).setFontSize(11).setTextAlignment(TextAlignment.CENTER).setMarginBottom(15));
+
+                for (Summary summary : summaries) {
+                    document.add(heading(summary.heading, bold));
+                    Table table = newTable(summary.headers.length, false);
+                    for (String header : summary.headers) {
+                        table.addCell(cell(header).addStyle(headerStyle));
+                    }
+                    for (String[] row : summary.rows) {
+                        for (String value : row) {
+                            table.addCell(cell(value));
+                        }
+                    }
+                    document.add(table);
+                    document.add(new Paragraph("").setMarginBottom(10));
+                }
+
+                if (source != null) {
+                    expectedRows = rowCount.count();
+                    if (detailsHeading != null) {
+                        document.add(heading(detailsHeading, bold));
+                    }
+                    Table table = newTable(detailHeaders.length, true);
+                    for (String header : detailHeaders) {
+                        table.addHeaderCell(cell(header).addStyle(headerStyle));
+                    }
+                    document.add(table);
+                    source.stream(row -> {
+                        if (isCancelled()) return false;
+                        for (String value : cells.apply(row)) {
+                            table.addCell(cell(value));
+                        }
+                        if (++written[0] % FLUSH_EVERY == 0) {
+                            table.flush();
+                            reportProgress(written[0]);
+                        }
+                        return true;
+                    });
+                    table.complete();
+                }
+            }
+            if (isCancelled()) return written[0];
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+            complete = true;
+        } finally {
+            if (!complete) Files.deleteIfExists(tmp);
+        }
+        updateProgress(1, 1);
+        updateMessage(written[0] + " rows rendered");
+        return written[0];
+    }
+
+    private void reportProgress(long rows) {
+        if (expectedRows > 0) {
+            updateProgress(rows, Math.max(rows, expectedRows));
+            updateMessage(rows + " of " + expectedRows + " rows rendered");
+        } else {
+            updateMessage(rows + " rows rendered");
+        }
+    }
+
+    private static Paragraph heading(String text, PdfFont bold) {
+        return new Paragraph(text).setFont(bold).setFontSize(14).setMarginTop(10).setMarginBottom(10);
+    }
+
+    private static Table newTable(int columns, boolean large) {
+        Table table = new Table(columns, large);
+        table.setWidth(UnitValue.createPercentValue(100));
+        return table;
+    }
+
+    private static Cell cell(String text) {
+        return new Cell().add(new Paragraph(text != null ? text : ""));
+    }
+}
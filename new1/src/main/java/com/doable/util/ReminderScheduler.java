@@ -0,0 +1,206 @@
+package com.doable.util;
+
+import com.doable.dao.TaskDao;
+import com.doable.model.Task;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Process-wide reminder scheduler.
+ * Keeps a priority queue of upcoming task deadlines and sleeps until the next one
+ * instead of polling the tasks table. The queue is loaded once by the scheduler thread when it
+ * starts and then kept current by the DAO write paths (TaskDao.save/delete, AssignmentDao.save).
+ */
+public class ReminderScheduler {
+    // Same window the old polling loop used for the "due now" notification
+    private static final long EXACT_TIME_WINDOW_MS = 2000;
+
+    private static ReminderScheduler INSTANCE;
+
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>();
+    private final Map<Long, Entry> scheduled = new HashMap<>(); // taskId -> live queue entry
+    private Thread worker;
+    private boolean running;
+
+    private ReminderScheduler() {}
+
+    public static synchronized ReminderScheduler getInstance() {
+        if (INSTANCE == null) INSTANCE = new ReminderScheduler();
+        return INSTANCE;
+    }
+
+    /**
+     * Start the scheduler thread, which loads the pending deadlines before waiting on them, so
+     * the caller (the FX thread at login) never queries the database. Calling it again is a no-op.
+     */
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        worker = new Thread(this::runLoop, "ReminderSchedulerThread");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public synchronized void stop() {
+        running = false;
+        queue.clear();
+        scheduled.clear();
+        notifyAll();
+    }
+
+    /**
+     * Called after a task row was inserted or updated.
+     */
+    public synchronized void taskSaved(Task t) {
+        if (!running || t == null) return;
+        schedule(t);
+        notifyAll();
+    }
+
+    /**
+     * Called when something that affects a task changed but the caller has no Task
+     * instance (e.g. an assignment). The task is re-read on the scheduler thread when due.
+     */
+    public synchronized void taskChanged(long taskId) {
+        if (!running) return;
+        Entry e = scheduled.get(taskId);
+        if (e != null) {
+            // Deadline is unchanged; the row is re-validated before firing anyway
+            return;
+        }
+        // Not scheduled yet - wake up immediately and let the worker resolve it
+        Entry refresh = new Entry(taskId, 0);
+        scheduled.put(taskId, refresh);
+        queue.add(refresh);
+        notifyAll();
+    }
+
+    public synchronized void taskDeleted(long taskId) {
+        if (!running) return;
+        Entry e = scheduled.remove(taskId);
+        if (e != null) e.cancelled = true;
+        notifyAll();
+    }
+
+    // Must hold the monitor
+    private void schedule(Task t) {
+        Entry old = scheduled.remove(t.getId());
+        if (old != null) old.cancelled = true;
+        if (!isPending(t)) return;
+        Entry e = new Entry(t.getId(), toMillis(t.getDueDate()));
+        scheduled.put(t.getId(), e);
+        queue.add(e);
+    }
+
+    private void loadPending() {
+        try {
+            TaskDao taskDao = new TaskDao();
+            // Tasks that went overdue while the app was closed are completed in one UPDATE rather
+            // than fired one by one; those inside the "due now" window still get their notification
+            int completed = taskDao.completeOverdue(LocalDateTime.now().minusNanos(EXACT_TIME_WINDOW_MS * 1_000_000));
+            if (completed > 0) System.out.println("Auto-completed " + completed + " overdue tasks");
+            List<Task> tasks = taskDao.findAll();
+            synchronized (this) {
+                if (!running || worker != Thread.currentThread()) return;
+                for (Task t : tasks) {
+                    // A save that arrived during the load is newer than the row read here
+                    if (!scheduled.containsKey(t.getId())) schedule(t);
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Reminder scheduler could not load tasks: " + e.getMessage());
+        }
+    }
+
+    private void runLoop() {
+        loadPending();
+        while (true) {
+            Entry next;
+            synchronized (this) {
+                try {
+                    while (running && worker == Thread.currentThread()) {
+                        Entry head = queue.peek();
+                        if (head == null) {
+                            wait();
+                        } else if (head.cancelled) {
+                            queue.poll();
+                        } else {
+                            long delay = head.dueMillis - System.currentTimeMillis();
+                            if (delay <= 0) break;
+                            wait(delay);
+                        }
+                    }
+                } catch (InterruptedException ex) {
+                    return;
+                }
+                if (!running || worker != Thread.currentThread()) return;
+                next = queue.poll();
+                scheduled.remove(next.taskId);
+            }
+            fire(next);
+        }
+    }
+
+    private void fire(Entry e) {
+        try {
+            TaskDao taskDao = new TaskDao();
+            // Re-read the row so a stale queue entry never completes a task that changed
+            Task t = taskDao.findById(e.taskId);
+            if (t == null || !isPending(t)) return;
+
+            long diffMs = toMillis(t.getDueDate()) - System.currentTimeMillis();
+            if (diffMs > 0) {
+                // Placeholder entry, or the deadline moved - queue the real deadline
+                synchronized (this) {
+                    if (running && !scheduled.containsKey(t.getId())) schedule(t);
+                    notifyAll();
+                }
+                return;
+            }
+
+            // Notification at EXACT TIME, skipped for tasks that were already overdue
+            if (diffMs >= -EXACT_TIME_WINDOW_MS) {
+                System.out.println("Triggering reminder for: " + t.getTitle());
+                NotificationUtil.displayNotification("Task Reminder",
+                    "Task '" + t.getTitle() + "' is due now!");
+            }
+
+            // Auto-complete task once its reminder time has passed
+            t.setCompleted(true);
+            taskDao.save(t);
+            System.out.println("Auto-completed task: " + t.getTitle());
+        } catch (SQLException ex) {
+            System.err.println("Error auto-completing task: " + ex.getMessage());
+        }
+    }
+
+    private static boolean isPending(Task t) {
+        return !t.isCompleted() && !t.isMarkedForCompletion() && t.getDueDate() != null;
+    }
+
+    private static long toMillis(LocalDateTime dt) {
+        return dt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static final class Entry implements Comparable<Entry> {
+        final long taskId;
+        final long dueMillis;
+        boolean cancelled;
+
+        Entry(long taskId, long dueMillis) {
+            this.taskId = taskId;
+            this.dueMillis = dueMillis;
+        }
+
+        @Override
+        public int compareTo(Entry o) {
+            return Long.compare(dueMillis, o.dueMillis);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.doable.util;
+
+import java.sql.SQLException;
+
+/**
+ * The number of rows a {@link RowSource} is expected to produce, e.g.
+ * {@code reportDao::countManagers}. The export tasks call it on their background thread.
+ */
+@FunctionalInterface
+public interface RowCount {
+    long count() throws SQLException;
+}
@@ -0,0 +1,13 @@
+package com.doable.util;
+
+import java.sql.SQLException;
+import java.util.function.Predicate;
+
+/**
+ * A cursor-backed row source for the export tasks, e.g.
+ * {@code handler -> reportDao.streamManagerReports(handler)}. The handler returns false to stop.
+ */
+@FunctionalInterface
+public interface RowSource<T> {
+    void stream(Predicate<T> handler) throws SQLException;
+}
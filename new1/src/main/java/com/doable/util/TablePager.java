@@ -0,0 +1,134 @@
+package com.doable.util;
+
+import com.doable.dao.AsyncDao;
+import javafx.collections.ObservableList;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.control.TableView;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Fills a TableView one keyset page at a time. The first page is loaded by {@link #reset};
+ * the next one is requested when the vertical scroll bar gets near the bottom, so only the
+ * rows the user has scrolled past are ever held, however large the underlying table is.
+ * Reloads are diffed into the rows already shown ({@link ListDiff}), so a refresh after an edit
+ * only touches the rows that changed.
+ *
+ * T is what the DAO returns (the last one is the cursor for the next page), R is the table row.
+ * Use from the FX thread only.
+ */
+public class TablePager<T, R> {
+    public static final int PAGE_SIZE = 200;
+    private static final double PREFETCH_AT = 0.9;
+
+    /**
+     * Fetch up to limit items that come after the given one (null for the first page).
+     */
+    @FunctionalInterface
+    public interface PageQuery<T> {
+        CompletableFuture<List<T>> fetch(T after, int limit);
+    }
+
+    private final TableView<R> table;
+    private final Function<T, R> toRow;
+    private final Function<R, ?> key;
+    private final BiPredicate<R, R> same;
+    private final Consumer<Throwable> onError;
+    private final AsyncDao.Latest<List<T>> load = new AsyncDao.Latest<>();
+
+    private PageQuery<T> query;
+    private T last;
+    private boolean exhausted = true;
+    private boolean loading;
+    private boolean attached;
+
+    /**
+     * key identifies a row across reloads; same tells whether two rows with one key look the same.
+     */
+    public TablePager(TableView<R> table, Function<T, R> toRow, Function<R, ?> key, BiPredicate<R, R> same,
+                      Consumer<Throwable> onError) {
+        this.table = table;
+        this.toRow = toRow;
+        this.key = key;
+        this.same = same;
+        this.onError = onError;
+        table.skinProperty().addListener((obs, old, skin) -> attach());
+        attach();
+    }
+
+    /**
+     * Start over with a new query (e.g. after a filter change) from its first page. An in-flight
+     * page of the old query is dropped; the old rows stay up until the new page replaces them.
+     */
+    public void reset(PageQuery<T> query) {
+        this.query = query;
+        reload(PAGE_SIZE);
+    }
+
+    /**
+     * Reload as many rows as are shown now with the current query, keeping the scroll position.
+     */
+    public void refresh() {
+        if (query != null) reload(Math.max(PAGE_SIZE, table.getItems().size()));
+    }
+
+    private void reload(int limit) {
+        last = null;
+        exhausted = false;
+        loading = true;
+        load.submit(query.fetch(null, limit), page -> {
+            loading = false;
+            exhausted = page.size() < limit;
+            last = page.isEmpty() ? null : page.get(page.size() - 1);
+            ListDiff.apply(table.getItems(), toRows(page), key, same);
+        }, e -> {
+            loading = false;
+            onError.accept(e);
+        });
+    }
+
+    public void loadNextPage() {
+        if (query == null || exhausted || loading) return;
+        loading = true;
+        load.submit(query.fetch(last, PAGE_SIZE), page -> {
+            loading = false;
+            if (page.size() < PAGE_SIZE) exhausted = true;
+            if (page.isEmpty()) return;
+            last = page.get(page.size() - 1);
+            ObservableList<R> items = table.getItems();
+            items.addAll(toRows(page));
+        }, e -> {
+            loading = false;
+            onError.accept(e);
+        });
+    }
+
+    private List<R> toRows(List<T> page) {
+        List<R> rows = new ArrayList<>(page.size());
+        for (T item : page) rows.add(toRow.apply(item));
+        return rows;
+    }
+
+    // The scroll bars exist once the skin does; watch the vertical one for the approach to the end
+    private void attach() {
+        if (attached || table.getSkin() == null) return;
+        for (Node node : table.lookupAll(".scroll-bar")) {
+            if (node instanceof ScrollBar && ((ScrollBar) node).getOrientation() == Orientation.VERTICAL) {
+                ScrollBar bar = (ScrollBar) node;
+                bar.valueProperty().addListener((obs, old, value) -> {
+                    if (value.doubleValue() >= bar.getMin() + (bar.getMax() - bar.getMin()) * PREFETCH_AT) {
+                        loadNextPage();
+                    }
+                });
+                attached = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.doable.util;
+
+import com.doable.dao.TaskQuery;
+import com.doable.db.Database;
+import com.doable.model.Task;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * In-memory index over one employee's loaded tasks, so changing the home list filters does not
+ * go back to the database. Tasks are kept in {@link TaskQuery#ORDER} per task type and per
+ * (type, category), so a selection walks only the matching sets, already sorted, and checks the
+ * status against a single "now" in epoch millis. Tasks can be added, replaced or removed one at a
+ * time without rebuilding anything.
+ *
+ * The sort and filter keys are copied when a task is put, so a task changed after that must be
+ * put again. Use from the FX thread only.
+ */
+public class TaskIndex {
+    private static final int MANAGER = 0;
+    private static final int PERSONAL = 1;
+
+    private static final class Entry {
+        final Task task;
+        final long id;
+        final int type;
+        final boolean marked;
+        final boolean completed;
+        final long categoryId;
+        final Long due;
+
+        Entry(Task task) {
+            this.task = task;
+            this.id = task.getId();
+            this.type = TaskQuery.isManager(task) ? MANAGER : PERSONAL;
+            this.marked = task.isMarkedForCompletion();
+            this.completed = task.isCompleted();
+            this.categoryId = task.getCategoryId();
+            this.due = Database.toEpochMillis(task.getDueDate());
+        }
+
+        boolean done(long nowMillis) {
+            return completed || (due != null && due < nowMillis);
+        }
+    }
+
+    // Same order as TaskQuery.ORDER; the type is implied by which set an entry is in
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparing((Entry e) -> e.marked)
+            .thenComparing(e -> e.due, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparingLong(e -> e.id);
+
+    private final Map<Long, Entry> byId = new HashMap<>();
+    private final List<TreeSet<Entry>> byType = List.of(new TreeSet<>(ORDER), new TreeSet<>(ORDER));
+    private final List<Map<Long, TreeSet<Entry>>> byTypeAndCategory = List.of(new HashMap<>(), new HashMap<>());
+
+    /**
+     * Replace the whole content, e.g. after a full load.
+     */
+    public void reset(Collection<Task> tasks) {
+        byId.clear();
+        for (int type = MANAGER; type <= PERSONAL; type++) {
+            byType.get(type).clear();
+            byTypeAndCategory.get(type).clear();
+        }
+        for (Task t : tasks) put(t);
+    }
+
+    /**
+     * Add a task, or re-index it under its current values if its id is already present.
+     */
+    public void put(Task task) {
+        remove(task.getId());
+        Entry e = new Entry(task);
+        byId.put(e.id, e);
+        byType.get(e.type).add(e);
+        byTypeAndCategory.get(e.type).computeIfAbsent(e.categoryId, k -> new TreeSet<>(ORDER)).add(e);
+    }
+
+    public void remove(long taskId) {
+        Entry e = byId.remove(taskId);
+        if (e == null) return;
+        byType.get(e.type).remove(e);
+        TreeSet<Entry> category = byTypeAndCategory.get(e.type).get(e.categoryId);
+        category.remove(e);
+        if (category.isEmpty()) byTypeAndCategory.get(e.type).remove(e.categoryId);
+    }
+
+    public Task get(long taskId) {
+        Entry e = byId.get(taskId);
+        return e == null ? null : e.task;
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    /**
+     * The indexed tasks that pass the query's task, type, status and category filters, in
+     * {@link TaskQuery#ORDER}. The query's employee and marked flag are not checked; they are
+     * what the indexed tasks were loaded with.
+     */
+    public List<Task> select(TaskQuery q) {
+        List<Task> out = new ArrayList<>();
+        if (q.getTaskId() != 0) {
+            Task t = get(q.getTaskId());
+            if (t != null && q.matches(t)) out.add(t);
+            return out;
+        }
+        long nowMillis = q.nowMillis();
+        for (int type = MANAGER; type <= PERSONAL; type++) {
+            if (q.getType() == TaskQuery.Type.MANAGER && type != MANAGER) continue;
+            if (q.getType() == TaskQuery.Type.PERSONAL && type != PERSONAL) continue;
+            TreeSet<Entry> source = q.getCategoryId() == 0
+                    ? byType.get(type)
+                    : byTypeAndCategory.get(type).get(q.getCategoryId());
+            if (source == null) continue;
+            for (Entry e : source) {
+                if (q.getStatus() == TaskQuery.Status.ALL || e.done(nowMillis) == (q.getStatus() == TaskQuery.Status.COMPLETED)) {
+                    out.add(e.task);
+                }
+            }
+        }
+        return out;
+    }
+}